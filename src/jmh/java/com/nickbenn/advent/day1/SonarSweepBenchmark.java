@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day1;
+
+import com.nickbenn.advent.util.InputGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SonarSweepBenchmark {
+
+  private static final int[] WINDOWS = IntStream.rangeClosed(1, 32).toArray();
+
+  @Param({"1000", "100000", "10000000", "100000000"})
+  private int size;
+
+  private Path input;
+  private SonarSweep sweep;
+  private int[] data;
+
+  @Setup
+  public void setup() throws IOException, URISyntaxException {
+    input = new InputGenerator().sonarSweep(size);
+    sweep = parse();
+    data = new Parser.Builder(input.toUri()).setMapped(true).setParallel(true).build().intArray();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(input);
+  }
+
+  @Benchmark
+  public SonarSweep parse() throws IOException, URISyntaxException {
+    return new SonarSweep(new Parser.Builder(input.toUri()));
+  }
+
+  @Benchmark
+  public int countMovingSumIncreases_1() {
+    return sweep.countMovingSumIncreases(1);
+  }
+
+  @Benchmark
+  public int countMovingSumIncreases_3() {
+    return sweep.countMovingSumIncreases(3);
+  }
+
+  @Benchmark
+  public int countIncreases_3_runningSum() {
+    int window = 3;
+    int increases = 0;
+    int previous = 0;
+    int current = data[0];
+    for (int i = 1; i < window; i++) {
+      current += data[i];
+      previous += data[i - 1];
+    }
+    for (int i = window; i < data.length; i++) {
+      current -= data[i - window];
+      current += data[i];
+      previous += data[i - 1];
+      if (current > previous) {
+        increases++;
+      }
+      previous -= data[i - window];
+    }
+    return increases;
+  }
+
+  @Benchmark
+  public int countIncreases_3_scalar() {
+    return IncreaseKernel.SCALAR.count(data, 3, 3, data.length);
+  }
+
+  @Benchmark
+  public int countIncreases_3_best() {
+    return IncreaseKernel.BEST.count(data, 3, 3, data.length);
+  }
+
+  @Benchmark
+  public int countMovingSumIncreases_3_parallel() {
+    return sweep.countMovingSumIncreases(3, ForkJoinPool.commonPool());
+  }
+
+  @Benchmark
+  public int[] countMovingSumIncreases_1to32_separate() {
+    int[] counts = new int[WINDOWS.length];
+    for (int i = 0; i < WINDOWS.length; i++) {
+      counts[i] = sweep.countMovingSumIncreases(WINDOWS[i]);
+    }
+    return counts;
+  }
+
+  @Benchmark
+  public int[] countMovingSumIncreases_1to32_singlePass() {
+    return sweep.countMovingSumIncreases(WINDOWS);
+  }
+
+  @Benchmark
+  public int countMovingSumIncreases_3_endToEnd() throws IOException, URISyntaxException {
+    return parse().countMovingSumIncreases(3);
+  }
+
+  @Benchmark
+  public int countMovingSumIncreases_3_pipelined() throws IOException, URISyntaxException {
+    return SonarSweep.countMovingSumIncreases(new Parser.Builder(input.toUri()), 3);
+  }
+
+  @Benchmark
+  public long countMovingSumIncreases_3_streaming() {
+    return SonarSweep.countMovingSumIncreases(IntStream.of(data).asLongStream(), 3);
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day2;
+
+import com.nickbenn.advent.util.InputGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiveBenchmark {
+
+  @Param({"1000", "100000", "10000000", "100000000"})
+  private int size;
+
+  private Path input;
+  private Dive dive;
+
+  @Setup
+  public void setup() throws IOException, URISyntaxException {
+    input = new InputGenerator().dive(size);
+    dive = parse();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(input);
+  }
+
+  @Benchmark
+  public Dive parse() throws IOException, URISyntaxException {
+    return new Dive(new Parser.Builder(input.toUri()));
+  }
+
+  @Benchmark
+  public long positionDotProduct() {
+    return dive.positionDotProduct();
+  }
+
+  @Benchmark
+  public long positionDotProductAim() {
+    return dive.positionDotProductAim();
+  }
+
+  @Benchmark
+  public long[] positionDotProducts() {
+    return dive.positionDotProducts();
+  }
+
+  @Benchmark
+  public long positionDotProductAim_parallel() {
+    return dive.positionDotProductAim(ForkJoinPool.commonPool());
+  }
+
+  @Benchmark
+  public BigInteger positionDotProductAimExact_parallel() {
+    return dive.positionDotProductAimExact(ForkJoinPool.commonPool());
+  }
+
+  @Benchmark
+  public long positionDotProductAim_endToEnd() throws IOException, URISyntaxException {
+    return parse().positionDotProductAim();
+  }
+
+  @Benchmark
+  public long positionDotProductAim_pipelined() throws IOException, URISyntaxException {
+    return Dive.positionDotProductAim(new Parser.Builder(input.toUri()));
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day5;
+
+import com.nickbenn.advent.day5.HydrothermalVenture.Pair;
+import com.nickbenn.advent.util.InputGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HydrothermalVentureBenchmark {
+
+  @Param({"1000", "100000", "10000000"})
+  private int size;
+
+  private Path input;
+  private HydrothermalVenture venture;
+
+  @Setup
+  public void setup() throws IOException, URISyntaxException {
+    input = new InputGenerator().hydrothermalVenture(size);
+    venture = parse();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(input);
+  }
+
+  @Benchmark
+  public HydrothermalVenture parse() throws IOException, URISyntaxException {
+    return new HydrothermalVenture(new Parser.Builder(input.toUri()));
+  }
+
+  @Benchmark
+  public int countOverlaps_rectilinear() {
+    return venture.countOverlaps(Pair::isRectilinear);
+  }
+
+  @Benchmark
+  public int countOverlaps_all() {
+    return venture.countOverlaps((pair) -> true);
+  }
+
+}
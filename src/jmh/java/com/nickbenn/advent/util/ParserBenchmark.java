@@ -0,0 +1,234 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+  private static final int LINES_PER_BOARD = 6;
+  private static final RecordExtractor EXTRACTOR = new RecordExtractor.Builder()
+      .unsignedInt()
+      .literal(",")
+      .unsignedInt()
+      .literal("->")
+      .unsignedInt()
+      .literal(",")
+      .unsignedInt()
+      .build();
+
+  @Param({"1000", "100000", "10000000", "100000000"})
+  private int size;
+
+  private Path numbers;
+  private Path compressed;
+  private Path groups;
+  private Path delimited;
+  private Path records;
+  private String delimitedText;
+
+  @Setup
+  public void setup() throws IOException {
+    InputGenerator generator = new InputGenerator();
+    numbers = generator.sonarSweep(size);
+    compressed = Files.createTempFile(getClass().getSimpleName(), ".txt.gz");
+    compressed.toFile().deleteOnExit();
+    try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+      Files.copy(numbers, output);
+    }
+    groups = generator.giantSquid(Math.max(1, size / LINES_PER_BOARD));
+    delimited = generator.whaleTreachery(size);
+    records = generator.hydrothermalVenture(size);
+    delimitedText = Files.readString(delimited);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    for (Path path : new Path[]{numbers, compressed, groups, delimited, records}) {
+      Files.deleteIfExists(path);
+      Files.deleteIfExists(path.resolveSibling(path.getFileName() + ArrayCache.SUFFIX));
+    }
+  }
+
+  @Benchmark
+  public long lineStream() throws IOException, URISyntaxException {
+    try (Stream<String> stream = builder(numbers).build().lineStream()) {
+      return stream.count();
+    }
+  }
+
+  @Benchmark
+  public long intStream() throws IOException, URISyntaxException {
+    try (IntStream stream = builder(numbers).build().intStream()) {
+      return stream.asLongStream().sum();
+    }
+  }
+
+  @Benchmark
+  public long intStream_mapped() throws IOException, URISyntaxException {
+    try (IntStream stream = builder(numbers).setMapped(true).build().intStream()) {
+      return stream.asLongStream().sum();
+    }
+  }
+
+  @Benchmark
+  public int[] intArray() throws IOException, URISyntaxException {
+    return builder(numbers).build().intArray();
+  }
+
+  @Benchmark
+  public int[] intArray_mapped() throws IOException, URISyntaxException {
+    return builder(numbers).setMapped(true).build().intArray();
+  }
+
+  @Benchmark
+  public int[] intArray_mappedParallel() throws IOException, URISyntaxException {
+    return builder(numbers).setMapped(true).setParallel(true).build().intArray();
+  }
+
+  @Benchmark
+  public int[] intArray_cached() throws IOException, URISyntaxException {
+    return builder(numbers).setCached(true).build().intArray();
+  }
+
+  @Benchmark
+  public int[] intArray_compressed() throws IOException, URISyntaxException {
+    return builder(compressed).build().intArray();
+  }
+
+  @Benchmark
+  public long lineStream_compressed() throws IOException, URISyntaxException {
+    try (Stream<String> stream = builder(compressed).build().lineStream()) {
+      return stream.count();
+    }
+  }
+
+  @Benchmark
+  public long[] longArray() throws IOException, URISyntaxException {
+    return builder(numbers).build().longArray();
+  }
+
+  @Benchmark
+  public long[] longArray_mapped() throws IOException, URISyntaxException {
+    return builder(numbers).setMapped(true).build().longArray();
+  }
+
+  @Benchmark
+  public double doubleStream() throws IOException, URISyntaxException {
+    try (DoubleStream stream = builder(numbers).build().doubleStream()) {
+      return stream.sum();
+    }
+  }
+
+  @Benchmark
+  public BitSet bitSet() throws IOException, URISyntaxException {
+    return builder(numbers).build().bitSet();
+  }
+
+  @Benchmark
+  public IntBitmap bitmap_sparse() throws IOException, URISyntaxException {
+    return builder(numbers).setSparse(true).build().bitmap();
+  }
+
+  @Benchmark
+  public int[] intArray_delimited() throws IOException, URISyntaxException {
+    return builder(delimited).setDelimiter(',').build().intArray();
+  }
+
+  @Benchmark
+  public int[] intArray_delimitedMapped() throws IOException, URISyntaxException {
+    return builder(delimited).setDelimiter(',').setMapped(true).build().intArray();
+  }
+
+  @Benchmark
+  public int[] intArray_text() {
+    return Parser.intArray(delimitedText, ',');
+  }
+
+  @Benchmark
+  public RecordExtractor.Records extract() throws IOException, URISyntaxException {
+    return builder(records).build().extract(EXTRACTOR);
+  }
+
+  @Benchmark
+  public RecordExtractor.Records extract_mapped() throws IOException, URISyntaxException {
+    return builder(records).setMapped(true).build().extract(EXTRACTOR);
+  }
+
+  @Benchmark
+  public String rawString() throws IOException, URISyntaxException {
+    return builder(numbers).build().rawString();
+  }
+
+  @Benchmark
+  public String joinedString() throws IOException, URISyntaxException {
+    return builder(numbers).build().joinedString(",");
+  }
+
+  @Benchmark
+  public long lineGroupStream() throws IOException, URISyntaxException {
+    try (Stream<String> stream = builder(groups).build().lineGroupStream()) {
+      return stream.count();
+    }
+  }
+
+  @Benchmark
+  public long charArrayStream() throws IOException, URISyntaxException {
+    try (Stream<char[]> stream = builder(numbers).build().charArrayStream()) {
+      return stream.count();
+    }
+  }
+
+  @Benchmark
+  public String[] lines() throws IOException, URISyntaxException {
+    return builder(numbers).build().lines();
+  }
+
+  private static Parser.Builder builder(Path path) {
+    return new Parser.Builder(path.toUri())
+        .setTrimmed(true)
+        .setStripped(true);
+  }
+
+}
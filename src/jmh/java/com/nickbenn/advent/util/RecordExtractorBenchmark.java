@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecordExtractorBenchmark {
+
+  private static final Pattern LINE_PATTERN = Pattern.compile(
+      "^\\s*(?<x1>\\d+)\\s*,\\s*(?<y1>\\d+)\\s*->\\s*(?<x2>\\d+)\\s*,\\s*(?<y2>\\d+)\\s*$");
+  private static final RecordExtractor EXTRACTOR = new RecordExtractor.Builder()
+      .unsignedInt()
+      .literal(",")
+      .unsignedInt()
+      .literal("->")
+      .unsignedInt()
+      .literal(",")
+      .unsignedInt()
+      .build();
+
+  @Param({"1000", "100000", "1000000"})
+  private int lineCount;
+
+  private String[] lines;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setup() {
+    Random rng = new Random(lineCount);
+    lines = new String[lineCount];
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < lineCount; i++) {
+      lines[i] = String.format("%d,%d -> %d,%d",
+          rng.nextInt(1000), rng.nextInt(1000), rng.nextInt(1000), rng.nextInt(1000));
+      builder.append(lines[i]).append('\n');
+    }
+    buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Benchmark
+  public int[][] regex() {
+    int[][] columns = new int[4][lineCount];
+    int size = 0;
+    for (String line : lines) {
+      Matcher matcher = LINE_PATTERN.matcher(line);
+      if (matcher.matches()) {
+        columns[0][size] = Integer.parseInt(matcher.group("x1"));
+        columns[1][size] = Integer.parseInt(matcher.group("y1"));
+        columns[2][size] = Integer.parseInt(matcher.group("x2"));
+        columns[3][size] = Integer.parseInt(matcher.group("y2"));
+        size++;
+      }
+    }
+    return columns;
+  }
+
+  @Benchmark
+  public RecordExtractor.Records extractor() {
+    return EXTRACTOR.extract(buffer);
+  }
+
+}
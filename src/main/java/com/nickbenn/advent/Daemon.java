@@ -0,0 +1,247 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent;
+
+import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class Daemon {
+
+  public static final String CONTEXT_PATH = "/solve";
+
+  private static final int DEFAULT_PORT = 2021;
+  private static final int DEFAULT_CACHE_SIZE = 10_000;
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String POST_METHOD = "POST";
+  private static final String CONTENT_TYPE = "text/plain; charset=utf-8";
+  private static final int OK = 200;
+  private static final int BAD_REQUEST = 400;
+  private static final int FORBIDDEN = 403;
+  private static final int NOT_FOUND = 404;
+  private static final int SERVER_ERROR = 500;
+
+  private final Map<Integer, PuzzleProvider> providers;
+  private final Map<String, Long> cache;
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final Path inputRoot;
+  private final HttpServer server;
+
+  public Daemon(InetSocketAddress address, ExecutorService executor, int cacheSize,
+      Path inputRoot) throws IOException {
+    providers = Runner
+        .loadProviders()
+        .stream()
+        .collect(Collectors.toMap(PuzzleProvider::getDay, Function.identity()));
+    cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > cacheSize;
+      }
+    });
+    this.inputRoot = inputRoot.toRealPath();
+    server = HttpServer.create(address, 0);
+    server.createContext(CONTEXT_PATH, this::handle);
+    server.setExecutor(executor);
+  }
+
+  public static void main(String[] args) throws IOException {
+    int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    int threads = (args.length > 1)
+        ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    Path inputRoot = Path.of((args.length > 2) ? args[2] : "");
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    Daemon daemon = new Daemon(address, executor, DEFAULT_CACHE_SIZE, inputRoot);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      daemon.stop();
+      executor.shutdown();
+    }));
+    daemon.start();
+    System.out.printf("Listening on http://%s:%d%s%n", daemon.getAddress().getHostString(),
+        daemon.getAddress().getPort(), CONTEXT_PATH);
+  }
+
+  public void start() {
+    server.start();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  public long solve(int day, int part, byte[] input) throws URISyntaxException, IOException {
+    PuzzleProvider provider = getProvider(day, part);
+    String key = key(day, part, digest().digest(input));
+    Long answer = cache.get(key);
+    if (answer == null) {
+      answer = solve(provider, part, new Parser.Builder(new ByteArrayInputStream(input)));
+      cache.put(key, answer);
+    } else {
+      cacheHits.incrementAndGet();
+    }
+    return answer;
+  }
+
+  public long solve(int day, int part, Path input) throws URISyntaxException, IOException {
+    getProvider(day, part);
+    // Hash and parse the same bytes, so a file changing under us can't be cached under the
+    // wrong content.
+    return solve(day, part, Files.readAllBytes(resolve(input)));
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    int status;
+    String response;
+    try {
+      Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+      int day = Integer.parseInt(getParameter(parameters, "day"));
+      int part = Integer.parseInt(getParameter(parameters, "part"));
+      long answer;
+      if (POST_METHOD.equalsIgnoreCase(exchange.getRequestMethod())) {
+        try (InputStream body = exchange.getRequestBody()) {
+          answer = solve(day, part, body.readAllBytes());
+        }
+      } else {
+        answer = solve(day, part, Path.of(getParameter(parameters, "path")));
+      }
+      status = OK;
+      response = String.valueOf(answer);
+    } catch (NoSuchFileException e) {
+      status = NOT_FOUND;
+      response = "No such file: " + e.getFile();
+    } catch (AccessDeniedException e) {
+      status = FORBIDDEN;
+      response = "Outside input root: " + e.getFile();
+    } catch (IllegalArgumentException e) {
+      status = BAD_REQUEST;
+      response = String.valueOf(e.getMessage());
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      status = SERVER_ERROR;
+      response = e.toString();
+    }
+    byte[] bytes = (response + "\n").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(bytes);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private PuzzleProvider getProvider(int day, int part) {
+    PuzzleProvider provider = providers.get(day);
+    if (provider == null) {
+      throw new IllegalArgumentException("No puzzle for day " + day);
+    }
+    if (part != 1 && part != 2) {
+      throw new IllegalArgumentException("No part " + part);
+    }
+    return provider;
+  }
+
+  private Path resolve(Path input) throws IOException {
+    Path resolved = inputRoot.resolve(input).normalize();
+    Path real = resolved.startsWith(inputRoot) ? resolved.toRealPath() : null;
+    if (real == null || !real.startsWith(inputRoot)) {
+      throw new AccessDeniedException(input.toString());
+    }
+    return real;
+  }
+
+  private static long solve(PuzzleProvider provider, int part, Parser.Builder builder)
+      throws URISyntaxException, IOException {
+    Puzzle puzzle = provider.parse(builder);
+    return (part == 1) ? puzzle.part1() : puzzle.part2();
+  }
+
+  private static String key(int day, int part, byte[] hash) {
+    StringBuilder builder = new StringBuilder().append(day).append(':').append(part).append(':');
+    for (byte b : hash) {
+      builder
+          .append(Character.forDigit((b >> 4) & 0xf, 16))
+          .append(Character.forDigit(b & 0xf, 16));
+    }
+    return builder.toString();
+  }
+
+  private static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, String> parseQuery(String query) {
+    Map<String, String> parameters = new HashMap<>();
+    if (query != null) {
+      for (String pair : query.split("&")) {
+        int split = pair.indexOf('=');
+        if (split > 0) {
+          parameters.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+              URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+        }
+      }
+    }
+    return parameters;
+  }
+
+  private static String getParameter(Map<String, String> parameters, String name) {
+    String value = parameters.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("Missing parameter: " + name);
+    }
+    return value;
+  }
+
+}
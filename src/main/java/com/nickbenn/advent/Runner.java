@@ -0,0 +1,184 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent;
+
+import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+public class Runner {
+
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final double BYTES_PER_MEGABYTE = 1 << 20;
+  private static final String STDIN_ARGUMENT = "-";
+
+  private final ExecutorService executor;
+
+  public Runner(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  public static void main(String[] args)
+      throws InterruptedException, ExecutionException, URISyntaxException, IOException {
+    if (args.length > 1 && args[0].equals(STDIN_ARGUMENT)) {
+      int day = Integer.parseInt(args[1]);
+      PuzzleProvider provider = loadProviders()
+          .stream()
+          .filter((candidate) -> candidate.getDay() == day)
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("No puzzle for day " + day));
+      System.out.println(run(provider, Parser.Builder.stdin(), 0));
+    } else {
+      int threads = (args.length > 0)
+          ? Integer.parseInt(args[0])
+          : Runtime.getRuntime().availableProcessors();
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        for (Report report : new Runner(executor).run(loadProviders())) {
+          System.out.println(report);
+        }
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  public static List<PuzzleProvider> loadProviders() {
+    return ServiceLoader
+        .load(PuzzleProvider.class)
+        .stream()
+        .map(ServiceLoader.Provider::get)
+        .sorted(Comparator.comparingInt(PuzzleProvider::getDay))
+        .collect(Collectors.toList());
+  }
+
+  public List<Report> run(List<PuzzleProvider> providers)
+      throws InterruptedException, ExecutionException {
+    List<Future<Report>> futures = new ArrayList<>();
+    for (PuzzleProvider provider : providers) {
+      futures.add(executor.submit(() -> {
+        URL input = provider.getInput();
+        //noinspection ConstantConditions
+        URLConnection connection = input.openConnection();
+        long inputSize = connection.getContentLengthLong();
+        connection.getInputStream().close();
+        return run(provider, new Parser.Builder(input.toURI()), inputSize);
+      }));
+    }
+    List<Report> reports = new ArrayList<>();
+    for (Future<Report> future : futures) {
+      reports.add(future.get());
+    }
+    return reports;
+  }
+
+  public static Report run(PuzzleProvider provider, Parser.Builder builder, long inputSize)
+      throws URISyntaxException, IOException {
+    long start = System.nanoTime();
+    Puzzle puzzle = provider.parse(builder);
+    long parsed = System.nanoTime();
+    long part1 = puzzle.part1();
+    long solved1 = System.nanoTime();
+    long part2 = puzzle.part2();
+    long solved2 = System.nanoTime();
+    return new Report(provider.getDay(), puzzle.getClass().getSimpleName(), inputSize,
+        parsed - start, solved1 - parsed, solved2 - solved1, part1, part2);
+  }
+
+  public static class Report {
+
+    private final int day;
+    private final String name;
+    private final long inputSize;
+    private final long parseNanos;
+    private final long part1Nanos;
+    private final long part2Nanos;
+    private final long part1;
+    private final long part2;
+
+    private Report(int day, String name, long inputSize,
+        long parseNanos, long part1Nanos, long part2Nanos, long part1, long part2) {
+      this.day = day;
+      this.name = name;
+      this.inputSize = inputSize;
+      this.parseNanos = parseNanos;
+      this.part1Nanos = part1Nanos;
+      this.part2Nanos = part2Nanos;
+      this.part1 = part1;
+      this.part2 = part2;
+    }
+
+    public int getDay() {
+      return day;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getInputSize() {
+      return inputSize;
+    }
+
+    public long getParseNanos() {
+      return parseNanos;
+    }
+
+    public long getPart1Nanos() {
+      return part1Nanos;
+    }
+
+    public long getPart2Nanos() {
+      return part2Nanos;
+    }
+
+    public long getPart1() {
+      return part1;
+    }
+
+    public long getPart2() {
+      return part2;
+    }
+
+    public double getParseThroughput() {
+      return inputSize / BYTES_PER_MEGABYTE / (parseNanos / NANOS_PER_SECOND);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Day %d %-20s parse %9.3f ms (%8.2f MB/s)  part 1 %9.3f ms = %d  part 2 %9.3f ms = %d",
+          day, name, parseNanos / NANOS_PER_MILLI, getParseThroughput(),
+          part1Nanos / NANOS_PER_MILLI, part1, part2Nanos / NANOS_PER_MILLI, part2);
+    }
+
+  }
+
+}
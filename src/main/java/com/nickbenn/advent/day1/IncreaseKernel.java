@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day1;
+
+interface IncreaseKernel {
+
+  String VECTOR_KERNEL = "com.nickbenn.advent.day1.VectorIncreaseKernel";
+
+  IncreaseKernel SCALAR = IncreaseKernel::countScalar;
+  IncreaseKernel BEST = load();
+
+  int count(int[] data, int window, int from, int to);
+
+  private static int countScalar(int[] data, int window, int from, int to) {
+    int increases = 0;
+    for (int i = Math.max(from, window); i < to; i++) {
+      increases += (int) (((long) data[i - window] - data[i]) >>> 63);
+    }
+    return increases;
+  }
+
+  private static IncreaseKernel load() {
+    IncreaseKernel kernel;
+    try {
+      kernel = (IncreaseKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      kernel = SCALAR;
+    }
+    return kernel;
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day1;
+
+import com.nickbenn.advent.util.IntBatchConsumer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongConsumer;
+
+public class MovingSumCounter implements LongConsumer, IntBatchConsumer {
+
+  private static final VarHandle VERSION;
+  private static final VarHandle PUBLISHED_COUNT;
+  private static final VarHandle PUBLISHED_INCREASES;
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      VERSION = lookup.findVarHandle(MovingSumCounter.class, "version", long.class);
+      PUBLISHED_COUNT = lookup.findVarHandle(MovingSumCounter.class, "publishedCount", long.class);
+      PUBLISHED_INCREASES =
+          lookup.findVarHandle(MovingSumCounter.class, "publishedIncreases", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final long[] recent;
+  private int next;
+  private long count;
+  private long increases;
+  private long version;
+  private long publishedCount;
+  private long publishedIncreases;
+
+  public MovingSumCounter(int window) {
+    if (window < 1) {
+      throw new IllegalArgumentException("Window size must be positive: " + window);
+    }
+    recent = new long[window];
+  }
+
+  @Override
+  public void accept(long value) {
+    if (count >= recent.length && value > recent[next]) {
+      increases++;
+    }
+    recent[next] = value;
+    if (++next == recent.length) {
+      next = 0;
+    }
+    count++;
+    publish();
+  }
+
+  @Override
+  public void accept(int[] values, int length) {
+    long count = this.count;
+    long increases = this.increases;
+    for (int i = 0; i < length; i++) {
+      int value = values[i];
+      if (count >= recent.length && value > recent[next]) {
+        increases++;
+      }
+      recent[next] = value;
+      if (++next == recent.length) {
+        next = 0;
+      }
+      count++;
+    }
+    this.increases = increases;
+    this.count = count;
+    publish();
+  }
+
+  public int getWindow() {
+    return recent.length;
+  }
+
+  public long getCount() {
+    return getSnapshot().getCount();
+  }
+
+  public long getIncreases() {
+    return getSnapshot().getIncreases();
+  }
+
+  public Snapshot getSnapshot() {
+    long version;
+    long count;
+    long increases;
+    do {
+      version = (long) VERSION.getAcquire(this);
+      count = (long) PUBLISHED_COUNT.getOpaque(this);
+      increases = (long) PUBLISHED_INCREASES.getOpaque(this);
+      VarHandle.loadLoadFence();
+    } while ((version & 1) != 0 || version != (long) VERSION.getOpaque(this));
+    return new Snapshot(count, increases);
+  }
+
+  private void publish() {
+    // Single writer: an odd version marks the published pair as in flux for readers.
+    long version = this.version;
+    VERSION.setOpaque(this, version + 1);
+    VarHandle.storeStoreFence();
+    PUBLISHED_COUNT.setOpaque(this, count);
+    PUBLISHED_INCREASES.setOpaque(this, increases);
+    VERSION.setRelease(this, version + 2);
+  }
+
+  public static class Snapshot {
+
+    private final long count;
+    private final long increases;
+
+    private Snapshot(long count, long increases) {
+      this.count = count;
+      this.increases = increases;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getIncreases() {
+      return increases;
+    }
+
+  }
+
+}
@@ -17,46 +17,164 @@ package com.nickbenn.advent.day1;
 
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.LongStream;
 
-public class SonarSweep {
+public class SonarSweep implements Puzzle {
+
+  private static final int BLOCK_SIZE = 1 << 12;
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
 
   private final int[] data;
 
   public SonarSweep(String filename) throws IOException, URISyntaxException {
     //noinspection ConstantConditions
-    data = new Parser
-        .Builder(getClass().getResource(filename).toURI())
+    this(new Parser.Builder(SonarSweep.class.getResource(filename).toURI()));
+  }
+
+  public SonarSweep(Parser.Builder builder) throws IOException, URISyntaxException {
+    data = builder
+        .copy()
+        .setMapped(true)
+        .setParallel(true)
         .build()
-        .intStream()
-        .toArray();
+        .intArray();
   }
 
   public static void main(String[] args) throws URISyntaxException, IOException {
     SonarSweep sweep = new SonarSweep(Defaults.FILENAME);
-    System.out.println(sweep.countMovingSumIncreases(1));
-    System.out.println(sweep.countMovingSumIncreases(3));
+    for (int increases : sweep.countMovingSumIncreases(1, 3)) {
+      System.out.println(increases);
+    }
+  }
+
+  @Override
+  public long part1() {
+    return countMovingSumIncreases(1);
+  }
+
+  @Override
+  public long part2() {
+    return countMovingSumIncreases(3);
   }
 
   public int countMovingSumIncreases(int window) {
-    int increases = 0;
-    int previous = 0;
-    int current = data[0];
-    for (int i = 1; i < window; i++) {
-      current += data[i];
-      previous += data[i - 1];
-    }
-    for (int i = window; i < data.length; i++) {
-      current -= data[i - window];
-      current += data[i];
-      previous += data[i - 1];
-      if (current > previous) {
-        increases++;
+    if (window < 1) {
+      throw new IllegalArgumentException("Window size must be positive: " + window);
+    }
+    SolveEvent event = SolveEvent.start();
+    int increases = IncreaseKernel.BEST.count(data, window, window, data.length);
+    event.complete(SonarSweep.class, "countMovingSumIncreases", data.length, increases);
+    return increases;
+  }
+
+  public int[] countMovingSumIncreases(int... windows) {
+    SolveEvent event = SolveEvent.start();
+    int[] counts = new int[windows.length];
+    int minWindow = Integer.MAX_VALUE;
+    for (int window : windows) {
+      if (window < 1) {
+        throw new IllegalArgumentException("Window size must be positive: " + window);
       }
-      previous -= data[i - window];
+      minWindow = Math.min(minWindow, window);
     }
+    for (int start = minWindow; start < data.length; start += BLOCK_SIZE) {
+      int end = (int) Math.min((long) start + BLOCK_SIZE, data.length);
+      for (int j = 0; j < windows.length; j++) {
+        counts[j] += IncreaseKernel.BEST.count(data, windows[j], start, end);
+      }
+    }
+    event.complete(SonarSweep.class, "countMovingSumIncreases", data.length,
+        Arrays.stream(counts).asLongStream().sum());
+    return counts;
+  }
+
+  public int countMovingSumIncreases(int window, ForkJoinPool pool) {
+    if (window < 1) {
+      throw new IllegalArgumentException("Window size must be positive: " + window);
+    }
+    SolveEvent event = SolveEvent.start();
+    int increases = pool.invoke(new IncreaseCounter(data, window, window, data.length));
+    event.complete(SonarSweep.class, "countMovingSumIncreases", data.length, increases);
     return increases;
   }
 
+  public static int countMovingSumIncreases(Parser.Builder builder, int window)
+      throws IOException, URISyntaxException {
+    SolveEvent event = SolveEvent.start();
+    MovingSumCounter counter = new MovingSumCounter(window);
+    builder
+        .copy()
+        .setMapped(true)
+        .build()
+        .pipeInts(counter);
+    MovingSumCounter.Snapshot snapshot = counter.getSnapshot();
+    event.complete(SonarSweep.class, "countMovingSumIncreases",
+        snapshot.getCount(), snapshot.getIncreases());
+    return Math.toIntExact(snapshot.getIncreases());
+  }
+
+  public static long countMovingSumIncreases(LongStream samples, int window) {
+    SolveEvent event = SolveEvent.start();
+    MovingSumCounter counter = new MovingSumCounter(window);
+    samples
+        .sequential()
+        .forEach(counter);
+    MovingSumCounter.Snapshot snapshot = counter.getSnapshot();
+    event.complete(SonarSweep.class, "countMovingSumIncreases",
+        snapshot.getCount(), snapshot.getIncreases());
+    return snapshot.getIncreases();
+  }
+
+  private static class IncreaseCounter extends RecursiveTask<Integer> {
+
+    private final int[] data;
+    private final int window;
+    private final int from;
+    private final int to;
+
+    private IncreaseCounter(int[] data, int window, int from, int to) {
+      this.data = data;
+      this.window = window;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Integer compute() {
+      int increases;
+      if (to - from <= PARALLEL_THRESHOLD) {
+        increases = IncreaseKernel.BEST.count(data, window, from, to);
+      } else {
+        int split = from + (to - from) / 2;
+        IncreaseCounter prefix = new IncreaseCounter(data, window, from, split);
+        prefix.fork();
+        increases = new IncreaseCounter(data, window, split, to).compute() + prefix.join();
+      }
+      return increases;
+    }
+
+  }
+
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 1;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new SonarSweep(builder);
+    }
+
+  }
+
 }
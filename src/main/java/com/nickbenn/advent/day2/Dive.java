@@ -17,76 +17,293 @@ package com.nickbenn.advent.day2;
 
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.RecordExtractor;
+import com.nickbenn.advent.util.RecordExtractor.Records;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URISyntaxException;
-import java.util.List;
-import java.util.Map;
-import java.util.function.IntConsumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
-public class Dive {
+public class Dive implements Puzzle {
 
-  private static final Pattern TOKENIZER =
-      Pattern.compile("^\\s*(?<command>forward|down|up)\\s+(?<argument>\\d+)\\s*$");
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+  private static final long[] HORIZONTAL_STEP = {1, 0, 0};
+  private static final long[] AIM_STEP = {0, 1, -1};
+  private static final RecordExtractor EXTRACTOR = new RecordExtractor.Builder()
+      .keyword("forward", "down", "up")
+      .unsignedInt()
+      .build();
 
-  private final List<String> data;
+  private final byte[] commands;
+  private final int[] arguments;
 
   public Dive(String filename) throws URISyntaxException, IOException {
     //noinspection ConstantConditions
-    data = new Parser
-        .Builder(getClass().getResource(filename).toURI())
+    this(new Parser.Builder(Dive.class.getResource(filename).toURI()));
+  }
+
+  public Dive(Parser.Builder builder) throws URISyntaxException, IOException {
+    Records records = builder
+        .copy()
+        .setMapped(true)
         .build()
-        .lineStream()
-        .collect(Collectors.toList());
+        .extract(EXTRACTOR);
+    commands = new byte[records.size()];
+    for (int i = 0; i < commands.length; i++) {
+      commands[i] = (byte) records.get(0, i);
+    }
+    arguments = records.getColumn(1);
   }
 
   public static void main(String[] args) throws URISyntaxException, IOException {
     Dive dive = new Dive(Defaults.FILENAME);
-    System.out.println(dive.positionDotProduct());
-    System.out.println(dive.positionDotProductAim());
+    for (long product : dive.positionDotProducts()) {
+      System.out.println(product);
+    }
+  }
+
+  @Override
+  public long part1() {
+    return positionDotProduct();
+  }
+
+  @Override
+  public long part2() {
+    return positionDotProductAim();
   }
 
   public long positionDotProduct() {
-    int[] position = {0, 0};
-    Map<String, IntConsumer> processors = Map.of(
-        "forward", (steps) -> position[0] += steps,
-        "down", (steps) -> position[1] += steps,
-        "up", (steps) -> position[1] -= steps
-    );
-    data
-        .stream()
-        .map(TOKENIZER::matcher)
-        .filter(Matcher::matches)
-        .forEach((matcher) -> {
-          processors
-              .getOrDefault(matcher.group("command"), (argument) -> {})
-              .accept(Integer.parseInt(matcher.group("argument")));
-        });
-    return (long) position[0] * position[1];
+    SolveEvent event = SolveEvent.start();
+    long product = navigate().positionDotProduct();
+    event.complete(Dive.class, "positionDotProduct", commands.length, product);
+    return product;
   }
 
   public long positionDotProductAim() {
-    long[] position = {0, 0, 0};
-    Map<String, IntConsumer> processors = Map.of(
-        "forward", (steps) -> {
-          position[0] += steps;
-          position[2] += position[1] * steps;
-        },
-        "down", (steps) -> position[1] += steps,
-        "up", (steps) -> position[1] -= steps
-    );
-    data
-        .stream()
-        .map(TOKENIZER::matcher)
-        .filter(Matcher::matches)
-        .forEach((matcher) -> {
-          processors
-              .getOrDefault(matcher.group("command"), (argument) -> {})
-              .accept(Integer.parseInt(matcher.group("argument")));
+    SolveEvent event = SolveEvent.start();
+    long product = navigate().positionDotProductAim();
+    event.complete(Dive.class, "positionDotProductAim", commands.length, product);
+    return product;
+  }
+
+  public long[] positionDotProducts() {
+    SolveEvent event = SolveEvent.start();
+    Submarine submarine = navigate();
+    long[] products = {submarine.positionDotProduct(), submarine.positionDotProductAim()};
+    event.complete(Dive.class, "positionDotProducts", commands.length, products[1]);
+    return products;
+  }
+
+  public long positionDotProductAim(ForkJoinPool pool) {
+    SolveEvent event = SolveEvent.start();
+    long product = pool.invoke(new Navigator(0, commands.length)).positionDotProductAim();
+    event.complete(Dive.class, "positionDotProductAim", commands.length, product);
+    return product;
+  }
+
+  public BigInteger positionDotProductAimExact(ForkJoinPool pool) {
+    SolveEvent event = SolveEvent.start();
+    BigInteger product =
+        pool.invoke(new ExactNavigator(0, commands.length)).positionDotProductAim();
+    event.complete(Dive.class, "positionDotProductAimExact", commands.length,
+        product.longValue());
+    return product;
+  }
+
+  public static long positionDotProduct(Parser.Builder builder)
+      throws URISyntaxException, IOException {
+    SolveEvent event = SolveEvent.start();
+    Submarine submarine = new Submarine();
+    long count = pipe(builder, submarine);
+    long product = submarine.positionDotProduct();
+    event.complete(Dive.class, "positionDotProduct", count, product);
+    return product;
+  }
+
+  public static long positionDotProductAim(Parser.Builder builder)
+      throws URISyntaxException, IOException {
+    SolveEvent event = SolveEvent.start();
+    Submarine submarine = new Submarine();
+    long count = pipe(builder, submarine);
+    long product = submarine.positionDotProductAim();
+    event.complete(Dive.class, "positionDotProductAim", count, product);
+    return product;
+  }
+
+  private Submarine navigate() {
+    return navigate(0, commands.length);
+  }
+
+  private Submarine navigate(int from, int to) {
+    Submarine submarine = new Submarine();
+    for (int i = from; i < to; i++) {
+      submarine.move(commands[i], arguments[i]);
+    }
+    return submarine;
+  }
+
+  private ExactSubmarine navigateExact(int from, int to) {
+    long horizontal = 0;
+    long aim = 0;
+    long depthHigh = 0;
+    long depthLow = 0;
+    for (int i = from; i < to; i++) {
+      int command = commands[i];
+      long forward = HORIZONTAL_STEP[command] * arguments[i];
+      long low = aim * forward;
+      long sum = depthLow + low;
+      depthHigh += Math.multiplyHigh(aim, forward)
+          + ((Long.compareUnsigned(sum, depthLow) < 0) ? 1 : 0);
+      depthLow = sum;
+      horizontal += forward;
+      aim += AIM_STEP[command] * arguments[i];
+    }
+    BigInteger depth = BigInteger.valueOf(depthHigh)
+        .shiftLeft(Long.SIZE)
+        .add(new BigInteger(Long.toUnsignedString(depthLow)));
+    return new ExactSubmarine(horizontal, aim, depth);
+  }
+
+  private static long pipe(Parser.Builder builder, Submarine submarine)
+      throws URISyntaxException, IOException {
+    long[] count = {0};
+    builder
+        .copy()
+        .setMapped(true)
+        .build()
+        .pipeRecords(EXTRACTOR, (records) -> {
+          for (int i = 0; i < records.size(); i++) {
+            submarine.move(records.get(0, i), records.get(1, i));
+          }
+          count[0] += records.size();
         });
-    return position[0] * position[2];
+    return count[0];
+  }
+
+  private static class Submarine {
+
+    private long horizontal;
+    private long aim;
+    private long depth;
+
+    private void move(int command, int steps) {
+      long forward = HORIZONTAL_STEP[command] * steps;
+      horizontal += forward;
+      depth += aim * forward;
+      aim += AIM_STEP[command] * steps;
+    }
+
+    private Submarine then(Submarine next) {
+      depth += next.depth + aim * next.horizontal;
+      horizontal += next.horizontal;
+      aim += next.aim;
+      return this;
+    }
+
+    private long positionDotProduct() {
+      return horizontal * aim;
+    }
+
+    private long positionDotProductAim() {
+      return horizontal * depth;
+    }
+
+  }
+
+  private static class ExactSubmarine {
+
+    private final long horizontal;
+    private final long aim;
+    private final BigInteger depth;
+
+    private ExactSubmarine(long horizontal, long aim, BigInteger depth) {
+      this.horizontal = horizontal;
+      this.aim = aim;
+      this.depth = depth;
+    }
+
+    private ExactSubmarine then(ExactSubmarine next) {
+      return new ExactSubmarine(horizontal + next.horizontal, aim + next.aim, depth
+          .add(next.depth)
+          .add(BigInteger.valueOf(aim).multiply(BigInteger.valueOf(next.horizontal))));
+    }
+
+    private BigInteger positionDotProductAim() {
+      return BigInteger.valueOf(horizontal).multiply(depth);
+    }
+
+  }
+
+  private class Navigator extends RecursiveTask<Submarine> {
+
+    private final int from;
+    private final int to;
+
+    private Navigator(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Submarine compute() {
+      Submarine submarine;
+      if (to - from <= PARALLEL_THRESHOLD) {
+        submarine = navigate(from, to);
+      } else {
+        int split = from + (to - from) / 2;
+        Navigator prefix = new Navigator(from, split);
+        prefix.fork();
+        Submarine suffix = new Navigator(split, to).compute();
+        submarine = prefix.join().then(suffix);
+      }
+      return submarine;
+    }
+
+  }
+
+  private class ExactNavigator extends RecursiveTask<ExactSubmarine> {
+
+    private final int from;
+    private final int to;
+
+    private ExactNavigator(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected ExactSubmarine compute() {
+      ExactSubmarine submarine;
+      if (to - from <= PARALLEL_THRESHOLD) {
+        submarine = navigateExact(from, to);
+      } else {
+        int split = from + (to - from) / 2;
+        ExactNavigator prefix = new ExactNavigator(from, split);
+        prefix.fork();
+        ExactSubmarine suffix = new ExactNavigator(split, to).compute();
+        submarine = prefix.join().then(suffix);
+      }
+      return submarine;
+    }
+
+  }
+
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 2;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new Dive(builder);
+    }
+
   }
 
 }
@@ -15,40 +15,65 @@
  */
 package com.nickbenn.advent.day3;
 
+import com.nickbenn.advent.util.BitMatrix;
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.function.IntConsumer;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-public class BinaryDiagnostic {
+public class BinaryDiagnostic implements Puzzle {
+
+  private static final int MAX_NARROW_BIT_COUNT = Integer.SIZE - 1;
 
-  private final int[] data;
   private final int bitCount;
+  private final int size;
+  private final int[] data;
+  private final int rowLength;
+  private final long[] rows;
+  private final long[][] planes;
 
   public BinaryDiagnostic(String filename) throws URISyntaxException, IOException {
-    int[] bitCount = {0};
     //noinspection ConstantConditions
-    data = new Parser
-        .Builder(getClass().getResource(filename).toURI())
+    this(new Parser.Builder(BinaryDiagnostic.class.getResource(filename).toURI()));
+  }
+
+  public BinaryDiagnostic(Parser.Builder builder) throws URISyntaxException, IOException {
+    this(builder, false);
+  }
+
+  public BinaryDiagnostic(Parser.Builder builder, boolean sliced)
+      throws URISyntaxException, IOException {
+    Parser parser = builder
+        .copy()
         .setStripped(true)
         .setTrimmed(true)
-        .build()
-        .lineStream()
-        .peek((line) -> bitCount[0] = Math.max(bitCount[0], line.length()))
-        .mapToInt((line) -> Integer.parseInt(line, 2))
-        .toArray();
-    this.bitCount = bitCount[0];
+        .setMapped(true)
+        .setParallel(true)
+        .build();
+    BitMatrix matrix = parser.bitMatrix();
+    bitCount = matrix.getWidth();
+    size = matrix.getHeight();
+    if (bitCount > MAX_NARROW_BIT_COUNT) {
+      data = null;
+      rowLength = matrix.getRowLength();
+      rows = matrix.toWords();
+      planes = sliced ? slice(rows, rowLength, size, bitCount) : null;
+    } else {
+      data = new int[size];
+      for (int row = 0; row < size; row++) {
+        data[row] = (int) matrix.getWord(row, 0);
+      }
+      rowLength = 0;
+      rows = null;
+      planes = sliced ? slice(data, bitCount) : null;
+    }
   }
 
   public static void main(String[] args) throws URISyntaxException, IOException {
@@ -57,13 +82,179 @@ public class BinaryDiagnostic {
     System.out.println(diagnostic.generatorScrubberProduct());
   }
 
+  @Override
+  public long part1() {
+    return gammaEpsilonProduct();
+  }
+
+  @Override
+  public long part2() {
+    return generatorScrubberProduct();
+  }
+
+  public int getBitCount() {
+    return bitCount;
+  }
+
   public long gammaEpsilonProduct() {
-    int[] counts = new int[bitCount];
-    for (int value : data) {
+    long product;
+    if (rows != null) {
+      product = gammaEpsilonProductExact().longValueExact();
+    } else {
+      SolveEvent event = SolveEvent.start();
+      int[] counts;
+      if (planes != null) {
+        counts = countPlanes();
+      } else {
+        counts = new int[bitCount];
+        countBits(data, data.length, counts);
+      }
+      product = gammaEpsilonProduct(counts);
+      event.complete(BinaryDiagnostic.class, "gammaEpsilonProduct", size, product);
+    }
+    return product;
+  }
+
+  public BigInteger gammaEpsilonProductExact() {
+    BigInteger product;
+    if (rows == null) {
+      product = BigInteger.valueOf(gammaEpsilonProduct());
+    } else {
+      SolveEvent event = SolveEvent.start();
+      int[] counts = (planes != null) ? countPlanes() : countRows();
+      long[] gamma = new long[rowLength];
+      long[] epsilon = new long[rowLength];
+      for (int position = 0; position < bitCount; position++) {
+        long[] target = (counts[position] > 0) ? gamma : epsilon;
+        target[position / Long.SIZE] |= 1L << position;
+      }
+      product = toBigInteger(gamma, 0, rowLength).multiply(toBigInteger(epsilon, 0, rowLength));
+      event.complete(BinaryDiagnostic.class, "gammaEpsilonProductExact", size,
+          product.longValue());
+    }
+    return product;
+  }
+
+  public static long gammaEpsilonProduct(Parser.Builder builder)
+      throws URISyntaxException, IOException {
+    SolveEvent event = SolveEvent.start();
+    Parser parser = builder
+        .copy()
+        .setStripped(true)
+        .setTrimmed(true)
+        .setMapped(true)
+        .build();
+    long[] ones = new long[MAX_NARROW_BIT_COUNT];
+    int[] bitCount = {0};
+    long[] size = {0};
+    parser.pipeBitMatrices((matrix) -> {
+      if (matrix.getWidth() > MAX_NARROW_BIT_COUNT) {
+        throw new ArithmeticException(
+            "Readings wider than " + MAX_NARROW_BIT_COUNT + " bits overflow a long product");
+      }
+      for (int row = 0; row < matrix.getHeight(); row++) {
+        for (long bits = matrix.getWord(row, 0); bits != 0; bits &= bits - 1) {
+          ones[Long.numberOfTrailingZeros(bits)]++;
+        }
+      }
+      bitCount[0] = Math.max(bitCount[0], matrix.getWidth());
+      size[0] += matrix.getHeight();
+    });
+    int[] counts = new int[bitCount[0]];
+    for (int position = 0; position < counts.length; position++) {
+      counts[position] = Long.signum(2 * ones[position] - size[0]);
+    }
+    long product = gammaEpsilonProduct(counts);
+    event.complete(BinaryDiagnostic.class, "gammaEpsilonProduct", size[0], product);
+    return product;
+  }
+
+  private static void countBits(int[] values, int length, int[] counts) {
+    for (int i = 0; i < length; i++) {
+      int value = values[i];
       for (int position = 0; position < counts.length; position++, value >>>= 1) {
         counts[position] += ((value & 1) << 1) - 1;
       }
     }
+  }
+
+  private static int countBits(long[] plane, int length) {
+    int ones = 0;
+    for (long word : plane) {
+      ones += Long.bitCount(word);
+    }
+    return 2 * ones - length;
+  }
+
+  private static long[][] slice(long[] rows, int rowLength, int size, int bitCount) {
+    long[][] planes = new long[bitCount][(size + Long.SIZE - 1) / Long.SIZE];
+    IntStream.range(0, planes[0].length)
+        .parallel()
+        .forEach((word) -> {
+          int start = word * Long.SIZE;
+          int end = Math.min(start + Long.SIZE, size);
+          for (int row = start; row < end; row++) {
+            int offset = row * rowLength;
+            for (int column = 0; column < rowLength; column++) {
+              for (long bits = rows[offset + column]; bits != 0; bits &= bits - 1) {
+                int position = column * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                planes[position][word] |= 1L << row;
+              }
+            }
+          }
+        });
+    return planes;
+  }
+
+  private static BigInteger toBigInteger(long[] words, int offset, int length) {
+    ByteBuffer magnitude = ByteBuffer.allocate(length * Long.BYTES);
+    for (int word = offset + length - 1; word >= offset; word--) {
+      magnitude.putLong(words[word]);
+    }
+    return new BigInteger(1, magnitude.array());
+  }
+
+  private static long[][] slice(int[] data, int bitCount) {
+    long[][] planes = new long[bitCount][(data.length + Long.SIZE - 1) / Long.SIZE];
+    IntStream.range(0, planes.length == 0 ? 0 : planes[0].length)
+        .parallel()
+        .forEach((word) -> {
+          int start = word * Long.SIZE;
+          int end = Math.min(start + Long.SIZE, data.length);
+          for (int position = 0; position < bitCount; position++) {
+            long bits = 0;
+            for (int i = end - 1; i >= start; i--) {
+              bits = (bits << 1) | ((data[i] >>> position) & 1);
+            }
+            planes[position][word] = bits;
+          }
+        });
+    return planes;
+  }
+
+  private int[] countPlanes() {
+    return IntStream.range(0, bitCount)
+        .parallel()
+        .map((position) -> countBits(planes[position], size))
+        .toArray();
+  }
+
+  private int[] countRows() {
+    int[] counts = new int[bitCount];
+    for (int offset = 0; offset < rows.length; offset += rowLength) {
+      for (int word = 0; word < rowLength; word++) {
+        for (long bits = rows[offset + word]; bits != 0; bits &= bits - 1) {
+          counts[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]++;
+        }
+      }
+    }
+    for (int position = 0; position < bitCount; position++) {
+      counts[position] = 2 * counts[position] - size;
+    }
+    return counts;
+  }
+
+  private static long gammaEpsilonProduct(int[] counts) {
     long gamma = 0;
     long epsilon = 0;
     for (int position = counts.length - 1; position >= 0; position--) {
@@ -79,42 +270,112 @@ public class BinaryDiagnostic {
   }
 
   public long generatorScrubberProduct() {
-    List<Integer> data = getDataList();
-    for (int position = bitCount - 1; position >= 0 && data.size() > 1; position--) {
-      int mask = 1 << position;
-      if (countBits(data, mask) >= 0) {
-        data.removeIf((value) -> (value & mask) == 0);
+    long product;
+    if (rows != null) {
+      product = generatorScrubberProductExact().longValueExact();
+    } else {
+      SolveEvent event = SolveEvent.start();
+      int[] values = Arrays.copyOf(data, data.length);
+      int generator = rating(values, bitCount, true);
+      int scrubber = rating(values, bitCount, false);
+      product = (long) generator * scrubber;
+      event.complete(BinaryDiagnostic.class, "generatorScrubberProduct", size, product);
+    }
+    return product;
+  }
+
+  public BigInteger generatorScrubberProductExact() {
+    BigInteger product;
+    if (rows == null) {
+      product = BigInteger.valueOf(generatorScrubberProduct());
+    } else {
+      SolveEvent event = SolveEvent.start();
+      int[] indices = IntStream.range(0, size).toArray();
+      BigInteger generator = toBigInteger(rows, rowRating(indices, true) * rowLength, rowLength);
+      BigInteger scrubber = toBigInteger(rows, rowRating(indices, false) * rowLength, rowLength);
+      product = generator.multiply(scrubber);
+      event.complete(BinaryDiagnostic.class, "generatorScrubberProductExact", size,
+          product.longValue());
+    }
+    return product;
+  }
+
+  private static int rating(int[] values, int bitCount, boolean mostCommon) {
+    int low = 0;
+    int high = values.length;
+    for (int position = bitCount - 1; position >= 0 && high - low > 1; position--) {
+      int split = partition(values, low, high, 1 << position);
+      int zeros = split - low;
+      int ones = high - split;
+      if (keepOnes(zeros, ones, mostCommon)) {
+        low = split;
       } else {
-        data.removeIf((value) -> (value & mask) != 0);
+        high = split;
       }
     }
-    int generator = data.get(0);
-    data = getDataList();
-    for (int position = bitCount - 1; position >= 0 && data.size() > 1; position--) {
-      int mask = 1 << position;
-      if (countBits(data, mask) >= 0) {
-        data.removeIf((value) -> (value & mask) != 0);
+    return values[low];
+  }
+
+  private int rowRating(int[] indices, boolean mostCommon) {
+    int low = 0;
+    int high = indices.length;
+    for (int position = bitCount - 1; position >= 0 && high - low > 1; position--) {
+      int split = partitionRows(indices, low, high, position);
+      int zeros = split - low;
+      int ones = high - split;
+      if (keepOnes(zeros, ones, mostCommon)) {
+        low = split;
       } else {
-        data.removeIf((value) -> (value & mask) == 0);
+        high = split;
       }
     }
-    int scrubber = data.get(0);
-    return (long) generator * scrubber;
+    return indices[low];
   }
 
-  private List<Integer> getDataList() {
-    return IntStream
-        .of(data)
-        .boxed()
-        .collect(Collectors.toList());
+  private int partitionRows(int[] indices, int low, int high, int position) {
+    int word = position / Long.SIZE;
+    long mask = 1L << position;
+    int split = low;
+    for (int i = low; i < high; i++) {
+      int index = indices[i];
+      if ((rows[index * rowLength + word] & mask) == 0) {
+        indices[i] = indices[split];
+        indices[split++] = index;
+      }
+    }
+    return split;
   }
 
-  private int countBits(List<Integer> data, int mask) {
-    int count = 0;
-    for (int value : data) {
-      count += ((value & mask) == 0) ? -1 : 1;
+  private static boolean keepOnes(int zeros, int ones, boolean mostCommon) {
+    return mostCommon
+        ? ones >= zeros
+        : (ones < zeros && ones > 0) || zeros == 0;
+  }
+
+  private static int partition(int[] values, int low, int high, int mask) {
+    int split = low;
+    for (int i = low; i < high; i++) {
+      int value = values[i];
+      if ((value & mask) == 0) {
+        values[i] = values[split];
+        values[split++] = value;
+      }
     }
-    return count;
+    return split;
+  }
+
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 3;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new BinaryDiagnostic(builder);
+    }
+
   }
 
 }
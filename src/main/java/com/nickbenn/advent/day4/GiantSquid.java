@@ -17,43 +17,43 @@ package com.nickbenn.advent.day4;
 
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class GiantSquid {
+public class GiantSquid implements Puzzle {
 
-  private static final Pattern VALUE_SPLITTER = Pattern.compile("\\s*,\\s*");
   private static final Pattern ROW_SPLITTER = Pattern.compile("\\r?\\n");
   private static final Pattern COLUMN_SPLITTER = Pattern.compile("\\s+");
 
   private final int[] numbersDrawn;
-  private final int[] scores;
+  private final Set<Board> boards;
+
+  private int[] scores;
 
   public GiantSquid(String filename) throws URISyntaxException, IOException {
-    int[] bitCount = {0};
     //noinspection ConstantConditions
-    String[] parts = new Parser
-        .Builder(getClass().getResource(filename).toURI())
+    this(new Parser.Builder(GiantSquid.class.getResource(filename).toURI()));
+  }
+
+  public GiantSquid(Parser.Builder builder) throws URISyntaxException, IOException {
+    try (Stream<String> groups = builder
+        .copy()
         .setTrimmed(true)
         .build()
-        .lineGroupStream()
-        .toArray(String[]::new);
-    numbersDrawn = VALUE_SPLITTER
-        .splitAsStream(parts[0])
-        .mapToInt(Integer::parseInt)
-        .toArray();
-    Set<Board> boards = Stream
-        .of(Arrays.copyOfRange(parts, 1, parts.length))
-        .map(Board::new)
-        .collect(Collectors.toSet());
-    scores = play(boards);
+        .lineGroupStream()) {
+      Iterator<String> groupIter = groups.iterator();
+      numbersDrawn = Parser.intArray(groupIter.next(), ',');
+      boards = new HashSet<>();
+      groupIter.forEachRemaining((group) -> boards.add(new Board(group)));
+    }
   }
 
   public static void main(String[] args) throws URISyntaxException, IOException {
@@ -62,15 +62,34 @@ public class GiantSquid {
     System.out.println(squid.getLastWinningScore());
   }
 
+  @Override
+  public long part1() {
+    return getFirstWinningScore();
+  }
+
+  @Override
+  public long part2() {
+    return getLastWinningScore();
+  }
+
   public int getFirstWinningScore() {
-    return scores[0];
+    return getScores()[0];
   }
 
   public int getLastWinningScore() {
+    int[] scores = getScores();
     return scores[scores.length - 1];
   }
 
-  private int[] play(Set<Board> boards) {
+  private synchronized int[] getScores() {
+    if (scores == null) {
+      scores = play();
+    }
+    return scores;
+  }
+
+  private int[] play() {
+    SolveEvent event = SolveEvent.start();
     Set<Board> boardsInPlay = new HashSet<>(boards);
     int[] scores = new int[boardsInPlay.size()];
     int scoreIndex = 0;
@@ -87,6 +106,8 @@ public class GiantSquid {
         }
       }
     }
+    event.complete(GiantSquid.class, "play", boards.size(),
+        (scoreIndex > 0) ? scores[scoreIndex - 1] : 0);
     return scores;
   }
 
@@ -142,4 +163,18 @@ public class GiantSquid {
 
   }
 
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 4;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new GiantSquid(builder);
+    }
+
+  }
+
 }
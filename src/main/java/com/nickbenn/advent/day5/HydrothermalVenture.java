@@ -17,37 +17,52 @@ package com.nickbenn.advent.day5;
 
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.RecordExtractor;
+import com.nickbenn.advent.util.RecordExtractor.Records;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class HydrothermalVenture {
+public class HydrothermalVenture implements Puzzle {
 
-  private static final Pattern LINE_PATTERN = Pattern.compile(
-      "^\\s*(?<x1>\\d+)\\s*,\\s*(?<y1>\\d+)\\s*->\\s*(?<x2>\\d+)\\s*,\\s*(?<y2>\\d+)\\s*$");
+  private static final RecordExtractor EXTRACTOR = new RecordExtractor.Builder()
+      .unsignedInt()
+      .literal(",")
+      .unsignedInt()
+      .literal("->")
+      .unsignedInt()
+      .literal(",")
+      .unsignedInt()
+      .build();
 
   private final List<Pair> pairs;
 
   public HydrothermalVenture(String filename) throws URISyntaxException, IOException {
     //noinspection ConstantConditions
-    pairs = new Parser
-        .Builder(getClass().getResource(filename).toURI())
-        .setStripped(true)
+    this(new Parser.Builder(HydrothermalVenture.class.getResource(filename).toURI()));
+  }
+
+  public HydrothermalVenture(Parser.Builder builder) throws URISyntaxException, IOException {
+    Records records = builder
+        .copy()
+        .setMapped(true)
         .build()
-        .lineStream()
-        .map(LINE_PATTERN::matcher)
-        .filter(Matcher::matches)
-        .map((matcher) -> new Pair(
-            new Point(Integer.parseInt(matcher.group("x1")), Integer.parseInt(matcher.group("y1"))),
-            new Point(Integer.parseInt(matcher.group("x2")), Integer.parseInt(matcher.group("y2")))
-        ))
+        .extract(EXTRACTOR);
+    int[] x1 = records.getColumn(0);
+    int[] y1 = records.getColumn(1);
+    int[] x2 = records.getColumn(2);
+    int[] y2 = records.getColumn(3);
+    pairs = IntStream
+        .range(0, records.size())
+        .mapToObj((i) -> new Pair(new Point(x1[i], y1[i]), new Point(x2[i], y2[i])))
         .collect(Collectors.toList());
   }
 
@@ -57,7 +72,18 @@ public class HydrothermalVenture {
     System.out.println(venture.countOverlaps((pair) -> true));
   }
 
+  @Override
+  public long part1() {
+    return countOverlaps(Pair::isRectilinear);
+  }
+
+  @Override
+  public long part2() {
+    return countOverlaps((pair) -> true);
+  }
+
   public int countOverlaps(Predicate<Pair> filter) {
+    SolveEvent event = SolveEvent.start();
     int[] extremes = new int[2];
     List<Pair> rectilinearPairs = pairs
         .stream()
@@ -83,6 +109,7 @@ public class HydrothermalVenture {
         }
       }
     });
+    event.complete(HydrothermalVenture.class, "countOverlaps", pairs.size(), overlaps[0]);
     return overlaps[0];
   }
 
@@ -124,4 +151,18 @@ public class HydrothermalVenture {
 
   }
 
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 5;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new HydrothermalVenture(builder);
+    }
+
+  }
+
 }
@@ -17,18 +17,19 @@ package com.nickbenn.advent.day6;
 
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
-public class Lanternfish {
+public class Lanternfish implements Puzzle {
 
-  private static final Pattern INPUT_SPLITTER = Pattern.compile("\\s*,\\s*");
   private static final int MAX_REPRODUCTION_TIMER = 8;
   private static final int POST_REPRODUCTION_TIMER = 6;
 
@@ -36,14 +37,18 @@ public class Lanternfish {
 
   public Lanternfish(String filename) throws URISyntaxException, IOException {
     //noinspection ConstantConditions
-    counts = new Parser
-        .Builder(getClass().getResource(filename).toURI())
+    this(new Parser.Builder(Lanternfish.class.getResource(filename).toURI()));
+  }
+
+  public Lanternfish(Parser.Builder builder) throws URISyntaxException, IOException {
+    counts = builder
+        .copy()
         .setStripped(true)
         .setTrimmed(true)
+        .setMapped(true)
+        .setDelimiter(',')
         .build()
-        .lineStream()
-        .flatMap(INPUT_SPLITTER::splitAsStream)
-        .mapToInt(Integer::parseInt)
+        .intStream()
         .collect(
             () -> new long[MAX_REPRODUCTION_TIMER + 1],
             (long[] counts, int timerValue) -> counts[timerValue]++,
@@ -58,23 +63,76 @@ public class Lanternfish {
   public static void main(String[] args) throws URISyntaxException, IOException {
     Lanternfish lanternfish = new Lanternfish(Defaults.FILENAME);
     System.out.println(lanternfish.count(80));
-    System.out.println(lanternfish.count(176)); // Advance another 176 after the first 80.
+    System.out.println(lanternfish.count(256));
+  }
+
+  @Override
+  public long part1() {
+    return count(80);
+  }
+
+  @Override
+  public long part2() {
+    return count(256);
   }
 
   public long count(int generations) {
+    SolveEvent event = SolveEvent.start();
+    long count = simulate(counts.clone(), generations);
+    event.complete(Lanternfish.class, "count", LongStream.of(counts).sum(), count);
+    return count;
+  }
+
+  public static long count(Parser.Builder builder, int generations)
+      throws URISyntaxException, IOException {
+    SolveEvent event = SolveEvent.start();
+    long[] counts = new long[MAX_REPRODUCTION_TIMER + 1];
+    builder
+        .copy()
+        .setStripped(true)
+        .setTrimmed(true)
+        .setMapped(true)
+        .setDelimiter(',')
+        .build()
+        .pipeInts((values, length) -> {
+          for (int i = 0; i < length; i++) {
+            counts[values[i]]++;
+          }
+        });
+    long initial = LongStream.of(counts).sum();
+    long count = simulate(counts, generations);
+    event.complete(Lanternfish.class, "count", initial, count);
+    return count;
+  }
+
+  private static long simulate(long[] counts, int generations) {
     for (int i = 0; i < generations; i++) {
-      advance();
+      advance(counts);
     }
     return LongStream
         .of(counts)
         .sum();
   }
 
-  private void advance() {
+  private static void advance(long[] counts) {
     long nextGenerationCount = counts[0];
     System.arraycopy(counts, 1, counts, 0, counts.length - 1);
     counts[MAX_REPRODUCTION_TIMER] = nextGenerationCount;
     counts[POST_REPRODUCTION_TIMER] += nextGenerationCount;
   }
 
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 6;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new Lanternfish(builder);
+    }
+
+  }
+
 }
@@ -17,30 +17,34 @@ package com.nickbenn.advent.day7;
 
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.Puzzle;
+import com.nickbenn.advent.util.PuzzleProvider;
+import com.nickbenn.advent.util.SolveEvent;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.function.IntUnaryOperator;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
-public class WhaleTreachery {
-
-  private static final Pattern VALUE_SPLITTER = Pattern.compile("\\s*,\\s*");
+public class WhaleTreachery implements Puzzle {
 
   private final int[] data;
 
   public WhaleTreachery(String filename) throws URISyntaxException, IOException {
     //noinspection ConstantConditions
-    data = new Parser
-        .Builder(getClass().getResource(filename).toURI())
+    this(new Parser.Builder(WhaleTreachery.class.getResource(filename).toURI()));
+  }
+
+  public WhaleTreachery(Parser.Builder builder) throws URISyntaxException, IOException {
+    data = builder
+        .copy()
         .setStripped(true)
         .setTrimmed(true)
+        .setMapped(true)
+        .setDelimiter(',')
         .build()
-        .lineStream()
-        .flatMap(VALUE_SPLITTER::splitAsStream)
-        .mapToInt(Integer::parseInt)
-        .sorted()
-        .toArray();
+        .intArray();
+    Arrays.sort(data);
   }
 
   public static void main(String[] args) throws URISyntaxException, IOException {
@@ -49,12 +53,26 @@ public class WhaleTreachery {
     System.out.println(treachery.getTriangularFuelCost());
   }
 
+  @Override
+  public long part1() {
+    return getLinearFuelCost();
+  }
+
+  @Override
+  public long part2() {
+    return getTriangularFuelCost();
+  }
+
   public int getLinearFuelCost() {
+    SolveEvent event = SolveEvent.start();
     int median = getMedian();
-    return getFuelCost(median, Math::abs);
+    int cost = getFuelCost(median, Math::abs);
+    event.complete(WhaleTreachery.class, "getLinearFuelCost", data.length, cost);
+    return cost;
   }
 
   public int getTriangularFuelCost() {
+    SolveEvent event = SolveEvent.start();
     double mean = getMean();
     int median = getMedian();
     int start = (int) ((mean < median) ? Math.floor(mean) : Math.ceil(mean));
@@ -64,6 +82,7 @@ public class WhaleTreachery {
       bestCost = Math.min(bestCost,
           getFuelCost(position, (diff) -> (diff * diff + Math.abs(diff)) / 2));
     }
+    event.complete(WhaleTreachery.class, "getTriangularFuelCost", data.length, bestCost);
     return bestCost;
   }
 
@@ -92,4 +111,18 @@ public class WhaleTreachery {
         .sum();
   }
 
+  public static class Provider implements PuzzleProvider {
+
+    @Override
+    public int getDay() {
+      return 7;
+    }
+
+    @Override
+    public Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException {
+      return new WhaleTreachery(builder);
+    }
+
+  }
+
 }
@@ -0,0 +1,224 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+class ArrayCache {
+
+  static final String SUFFIX = ".cache";
+
+  private static final int MAGIC = 0x41443231;
+  private static final int VERSION = 2;
+  private static final int ALIGNMENT = Long.BYTES;
+  private static final long MAX_SEGMENT_SIZE = 1L << 30;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Path sidecar;
+  private final byte[] options;
+  private final long sourceSize;
+  private final long sourceModified;
+  private final long sourceChecksum;
+  private final int headerSize;
+
+  ArrayCache(Path source, String options) throws IOException {
+    sidecar = source.resolveSibling(source.getFileName() + SUFFIX);
+    this.options = options.getBytes(StandardCharsets.UTF_8);
+    BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+    sourceSize = attributes.size();
+    sourceModified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    sourceChecksum = checksum(source);
+    int size = 4 * Integer.BYTES + 4 * Long.BYTES + this.options.length;
+    headerSize = (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+  }
+
+  int[] readInts() throws IOException {
+    int[] data = null;
+    List<ByteBuffer> segments = map(Integer.BYTES);
+    if (segments != null) {
+      data = new int[length(segments, Integer.BYTES)];
+      int offset = 0;
+      for (ByteBuffer segment : segments) {
+        int count = segment.remaining() / Integer.BYTES;
+        segment.asIntBuffer().get(data, offset, count);
+        offset += count;
+      }
+    }
+    return data;
+  }
+
+  long[] readLongs() throws IOException {
+    long[] data = null;
+    List<ByteBuffer> segments = map(Long.BYTES);
+    if (segments != null) {
+      data = new long[length(segments, Long.BYTES)];
+      int offset = 0;
+      for (ByteBuffer segment : segments) {
+        int count = segment.remaining() / Long.BYTES;
+        segment.asLongBuffer().get(data, offset, count);
+        offset += count;
+      }
+    }
+    return data;
+  }
+
+  void write(int[] data) throws IOException {
+    write(Integer.BYTES, data.length,
+        (buffer, from, count) -> buffer.asIntBuffer().put(data, from, count));
+  }
+
+  void write(long[] data) throws IOException {
+    write(Long.BYTES, data.length,
+        (buffer, from, count) -> buffer.asLongBuffer().put(data, from, count));
+  }
+
+  private List<ByteBuffer> map(int elementSize) throws IOException {
+    List<ByteBuffer> segments = null;
+    try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size >= headerSize) {
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerSize);
+        long count = readHeader(header, elementSize);
+        if (count >= 0 && size == headerSize + count * elementSize) {
+          segments = new ArrayList<>();
+          for (long start = headerSize, length; start < size; start += length) {
+            length = Math.min(size - start, MAX_SEGMENT_SIZE);
+            segments.add(channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+          }
+        }
+      }
+    } catch (NoSuchFileException e) {
+      // No cached copy yet; the caller parses the source.
+    }
+    return segments;
+  }
+
+  private long readHeader(ByteBuffer header, int elementSize) {
+    long count = -1;
+    try {
+      if (header.getInt() == MAGIC
+          && header.getInt() == VERSION
+          && header.getInt() == elementSize
+          && header.getLong() == sourceSize
+          && header.getLong() == sourceModified
+          && header.getLong() == sourceChecksum
+          && header.getInt() == options.length) {
+        byte[] cachedOptions = new byte[options.length];
+        header.get(cachedOptions);
+        if (Arrays.equals(options, cachedOptions)) {
+          count = header.getLong();
+        }
+      }
+    } catch (BufferUnderflowException e) {
+      count = -1;
+    }
+    return count;
+  }
+
+  private void write(int elementSize, int length, Filler filler) throws IOException {
+    Path temp = Files.createTempFile(
+        sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, headerSize));
+        buffer
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(elementSize)
+            .putLong(sourceSize)
+            .putLong(sourceModified)
+            .putLong(sourceChecksum)
+            .putInt(options.length)
+            .put(options)
+            .putLong(length);
+        buffer.position(headerSize).flip();
+        drain(channel, buffer);
+        int chunk = BUFFER_SIZE / elementSize;
+        for (int from = 0, count; from < length; from += count) {
+          count = Math.min(chunk, length - from);
+          buffer.clear();
+          filler.fill(buffer, from, count);
+          buffer.limit(count * elementSize);
+          drain(channel, buffer);
+        }
+      }
+      move(temp);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private void move(Path temp) throws IOException {
+    try {
+      Files.move(temp, sidecar,
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static long checksum(Path source) throws IOException {
+    CRC32C checksum = new CRC32C();
+    try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+      long size = channel.size();
+      for (long start = 0, length; start < size; start += length) {
+        length = Math.min(size - start, MAX_SEGMENT_SIZE);
+        checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+      }
+    }
+    return checksum.getValue();
+  }
+
+  private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static int length(List<ByteBuffer> segments, int elementSize) throws IOException {
+    long length = 0;
+    for (ByteBuffer segment : segments) {
+      length += segment.remaining() / elementSize;
+    }
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Cached array too large");
+    }
+    return (int) length;
+  }
+
+  private interface Filler {
+
+    void fill(ByteBuffer buffer, int from, int count);
+
+  }
+
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class BitMatrix {
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private long[] words = new long[INITIAL_CAPACITY];
+  private int rowLength = 1;
+  private int width;
+  private int height;
+
+  BitMatrix() {
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getRowLength() {
+    return rowLength;
+  }
+
+  public long getWord(int row, int word) {
+    if (row < 0 || row >= height || word < 0 || word >= rowLength) {
+      throw new IndexOutOfBoundsException(
+          String.format("(%d, %d) is outside %d x %d words", row, word, height, rowLength));
+    }
+    return words[row * rowLength + word];
+  }
+
+  public long[] toWords() {
+    return Arrays.copyOf(words, height * rowLength);
+  }
+
+  void add(ByteBuffer buffer, boolean trimmed, boolean stripped) {
+    int fence = buffer.limit();
+    for (int start = buffer.position(), end; start < fence; start = end + 1) {
+      int from = start;
+      byte b;
+      while (trimmed && from < fence && (b = buffer.get(from)) <= ' ' && b != '\n') {
+        from++;
+      }
+      long word = 0;
+      int to = from;
+      int digit;
+      while (to < fence && to - from < Long.SIZE
+          && ((digit = buffer.get(to) - '0') & ~1) == 0) {
+        word = (word << 1) | digit;
+        to++;
+      }
+      end = to;
+      while (end < fence && buffer.get(end) != '\n') {
+        end++;
+      }
+      int last = end;
+      if (trimmed) {
+        while (last > from && buffer.get(last - 1) <= ' ') {
+          last--;
+        }
+      } else if (last > from && buffer.get(last - 1) == '\r') {
+        last--;
+      }
+      if (last == from) {
+        if (!stripped) {
+          throw new NumberFormatException("Empty binary row");
+        }
+      } else if (last == to) {
+        addWord(word, to - from);
+      } else {
+        addRow(buffer, from, last);
+      }
+    }
+  }
+
+  static BitMatrix concat(List<BitMatrix> parts) {
+    BitMatrix matrix = new BitMatrix();
+    int rows = 0;
+    for (BitMatrix part : parts) {
+      matrix.rowLength = Math.max(matrix.rowLength, part.rowLength);
+      matrix.width = Math.max(matrix.width, part.width);
+      rows += part.height;
+    }
+    matrix.words = new long[rows * matrix.rowLength];
+    for (BitMatrix part : parts) {
+      matrix.addAll(part);
+    }
+    return matrix;
+  }
+
+  void addAll(BitMatrix other) {
+    widen(other.rowLength);
+    ensureCapacity(height + other.height);
+    for (int row = 0; row < other.height; row++) {
+      System.arraycopy(other.words, row * other.rowLength,
+          words, (height + row) * rowLength, other.rowLength);
+    }
+    height += other.height;
+    width = Math.max(width, other.width);
+  }
+
+  void clear() {
+    Arrays.fill(words, 0, height * rowLength, 0);
+    height = 0;
+    width = 0;
+  }
+
+  private void addWord(long word, int rowWidth) {
+    ensureCapacity(height + 1);
+    words[height * rowLength] = word;
+    height++;
+    width = Math.max(width, rowWidth);
+  }
+
+  private void addRow(ByteBuffer buffer, int from, int to) {
+    int rowWidth = to - from;
+    widen((rowWidth + Long.SIZE - 1) / Long.SIZE);
+    ensureCapacity(height + 1);
+    int offset = height * rowLength;
+    long word = 0;
+    int position = 0;
+    for (int index = to - 1; index >= from; index--) {
+      int digit = buffer.get(index) - '0';
+      if ((digit & ~1) != 0) {
+        throw new NumberFormatException(
+            "Invalid binary digit '" + (char) (buffer.get(index) & 0xff) + "'");
+      }
+      word |= (long) digit << position;
+      if (++position == Long.SIZE) {
+        words[offset++] = word;
+        word = 0;
+        position = 0;
+      }
+    }
+    if (position > 0) {
+      words[offset] = word;
+    }
+    height++;
+    width = Math.max(width, rowWidth);
+  }
+
+  private void widen(int minRowLength) {
+    if (minRowLength > rowLength) {
+      long[] widened = new long[Math.max(words.length / rowLength, INITIAL_CAPACITY)
+          * minRowLength];
+      for (int row = 0; row < height; row++) {
+        System.arraycopy(words, row * rowLength, widened, row * minRowLength, rowLength);
+      }
+      words = widened;
+      rowLength = minRowLength;
+    }
+  }
+
+  private void ensureCapacity(int rows) {
+    if ((long) rows * rowLength > words.length) {
+      words = Arrays.copyOf(words, Math.max(2 * words.length, rows * rowLength));
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+class ChunkSpliterator extends Spliterators.AbstractSpliterator<ByteBuffer> {
+
+  static final int CHUNK_SIZE = 1 << 20;
+
+  private final InputStream input;
+  private final byte delimiter;
+
+  private byte[] buffer = new byte[CHUNK_SIZE];
+  private int carry;
+  private boolean exhausted;
+
+  ChunkSpliterator(InputStream input, char delimiter) {
+    super(Long.MAX_VALUE, ORDERED | NONNULL);
+    this.input = input;
+    this.delimiter = (byte) delimiter;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super ByteBuffer> action) {
+    ByteBuffer chunk = null;
+    while (chunk == null && !(exhausted && carry == 0)) {
+      int count = exhausted ? -1 : read();
+      if (count < 0) {
+        exhausted = true;
+        if (carry > 0) {
+          chunk = ByteBuffer.wrap(buffer, 0, carry);
+          carry = 0;
+        }
+      } else {
+        int filled = carry + count;
+        int cut = filled;
+        while (cut > carry && !isSeparator(buffer[cut - 1])) {
+          cut--;
+        }
+        if (cut > carry) {
+          chunk = ByteBuffer.wrap(buffer, 0, cut);
+          byte[] next = new byte[Math.max(CHUNK_SIZE, 2 * (filled - cut))];
+          System.arraycopy(buffer, cut, next, 0, filled - cut);
+          buffer = next;
+          carry = filled - cut;
+        } else {
+          carry = filled;
+          if (carry == buffer.length) {
+            byte[] next = new byte[2 * buffer.length];
+            System.arraycopy(buffer, 0, next, 0, carry);
+            buffer = next;
+          }
+        }
+      }
+    }
+    if (chunk != null) {
+      action.accept(chunk);
+    }
+    return chunk != null;
+  }
+
+  private int read() {
+    try {
+      return input.read(buffer, carry, buffer.length - carry);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean isSeparator(byte b) {
+    return b == '\n' || b == delimiter;
+  }
+
+}
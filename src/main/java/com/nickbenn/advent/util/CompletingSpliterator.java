@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+class CompletingSpliterator<T, S extends Spliterator<T>> implements Spliterator<T> {
+
+  final S spliterator;
+  final AtomicInteger active;
+  final Runnable completion;
+
+  private boolean exhausted;
+
+  private CompletingSpliterator(S spliterator, AtomicInteger active, Runnable completion) {
+    this.spliterator = spliterator;
+    this.active = active;
+    this.completion = completion;
+  }
+
+  static <T> Spliterator<T> of(Spliterator<T> spliterator, Runnable completion) {
+    return new CompletingSpliterator<>(spliterator, new AtomicInteger(1), completion);
+  }
+
+  static Spliterator.OfLong ofLong(Spliterator.OfLong spliterator, Runnable completion) {
+    return new LongCompletingSpliterator(spliterator, new AtomicInteger(1), completion);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    boolean advanced = spliterator.tryAdvance(action);
+    if (!advanced) {
+      exhaust();
+    }
+    return advanced;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    spliterator.forEachRemaining(action);
+    exhaust();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Spliterator<T> trySplit() {
+    S prefix = (S) spliterator.trySplit();
+    return (prefix != null) ? split(prefix) : null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return spliterator.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return spliterator.characteristics();
+  }
+
+  @Override
+  public Comparator<? super T> getComparator() {
+    return spliterator.getComparator();
+  }
+
+  Spliterator<T> split(S prefix) {
+    active.incrementAndGet();
+    return new CompletingSpliterator<>(prefix, active, completion);
+  }
+
+  void exhaust() {
+    if (!exhausted) {
+      exhausted = true;
+      if (active.decrementAndGet() == 0) {
+        completion.run();
+      }
+    }
+  }
+
+  private static class LongCompletingSpliterator
+      extends CompletingSpliterator<Long, Spliterator.OfLong> implements Spliterator.OfLong {
+
+    private LongCompletingSpliterator(Spliterator.OfLong spliterator, AtomicInteger active,
+        Runnable completion) {
+      super(spliterator, active, completion);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      boolean advanced = spliterator.tryAdvance(action);
+      if (!advanced) {
+        exhaust();
+      }
+      return advanced;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      spliterator.forEachRemaining(action);
+      exhaust();
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+      return (Spliterator.OfLong) super.trySplit();
+    }
+
+    @Override
+    Spliterator<Long> split(Spliterator.OfLong prefix) {
+      active.incrementAndGet();
+      return new LongCompletingSpliterator(prefix, active, completion);
+    }
+
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+enum Compression {
+
+  NONE {
+    @Override
+    InputStream decode(InputStream input) {
+      return input;
+    }
+  },
+
+  GZIP {
+    @Override
+    InputStream decode(InputStream input) throws IOException {
+      return new GZIPInputStream(input, BUFFER_SIZE);
+    }
+  },
+
+  ZIP {
+    @Override
+    InputStream decode(InputStream input) throws IOException {
+      ZipInputStream zip = new ZipInputStream(input);
+      ZipEntry entry;
+      do {
+        entry = zip.getNextEntry();
+      } while (entry != null && entry.isDirectory());
+      if (entry == null) {
+        zip.close();
+        throw new IOException("Zip archive contains no files");
+      }
+      return new SingleEntryInputStream(zip);
+    }
+  },
+
+  ZLIB {
+    @Override
+    InputStream decode(InputStream input) {
+      return new InflaterInputStream(input, new Inflater(), BUFFER_SIZE);
+    }
+  };
+
+  static final int HEADER_SIZE = 4;
+  static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int GZIP_MAGIC = 0x1f8b;
+  private static final int ZIP_MAGIC = 0x504b0304;
+  private static final String[] ZLIB_EXTENSIONS = {".zz", ".zlib"};
+
+  abstract InputStream decode(InputStream input) throws IOException;
+
+  static Compression detect(byte[] header, int length) {
+    Compression compression = NONE;
+    int first = (length > 0) ? header[0] & 0xff : -1;
+    int second = (length > 1) ? header[1] & 0xff : -1;
+    if (length >= 2 && (first << 8 | second) == GZIP_MAGIC) {
+      compression = GZIP;
+    } else if (length >= 4 && (first << 24 | second << 16
+        | (header[2] & 0xff) << 8 | header[3] & 0xff) == ZIP_MAGIC) {
+      compression = ZIP;
+    }
+    return compression;
+  }
+
+  static boolean isPartialMagic(byte[] header, int length) {
+    return length < HEADER_SIZE && detect(header, length) == NONE
+        && (startsMagic(header, length, GZIP_MAGIC, 2)
+            || startsMagic(header, length, ZIP_MAGIC, 4));
+  }
+
+  static boolean isZlibName(String name) {
+    String lowerCaseName = name.toLowerCase();
+    boolean matches = false;
+    for (int i = 0; !matches && i < ZLIB_EXTENSIONS.length; i++) {
+      matches = lowerCaseName.endsWith(ZLIB_EXTENSIONS[i]);
+    }
+    return matches;
+  }
+
+  private static boolean startsMagic(byte[] header, int length, int magic, int magicLength) {
+    boolean matches = true;
+    for (int i = 0; matches && i < length && i < magicLength; i++) {
+      matches = (header[i] & 0xff) == (magic >>> (8 * (magicLength - 1 - i)) & 0xff);
+    }
+    return matches && length < magicLength;
+  }
+
+  private static class SingleEntryInputStream extends FilterInputStream {
+
+    private final ZipInputStream zip;
+
+    private boolean checked;
+
+    private SingleEntryInputStream(ZipInputStream zip) {
+      super(zip);
+      this.zip = zip;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int value = super.read();
+      if (value < 0) {
+        checkNoMoreFiles();
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int count = super.read(buffer, offset, length);
+      if (count < 0) {
+        checkNoMoreFiles();
+      }
+      return count;
+    }
+
+    private void checkNoMoreFiles() throws IOException {
+      if (!checked) {
+        checked = true;
+        ZipEntry entry;
+        do {
+          entry = zip.getNextEntry();
+        } while (entry != null && entry.isDirectory());
+        if (entry != null) {
+          throw new IOException("Zip archive contains more than one file");
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.nickbenn.advent.Decompress")
+@Label("Decompress")
+@Category({"Advent of Code", "Parser"})
+@StackTrace(false)
+public class DecompressEvent extends Event {
+
+  @Label("Source")
+  private String source;
+
+  @Label("Compression")
+  private String compression;
+
+  @Label("Compressed Size")
+  @DataAmount
+  private long compressedSize;
+
+  @Label("Bytes Decompressed")
+  @DataAmount
+  private long bytesDecompressed;
+
+  @Label("Decompression Time")
+  @Timespan
+  private long decompressionTime;
+
+  DecompressEvent(String source, Compression compression) {
+    this.source = source;
+    this.compression = compression.name();
+  }
+
+  void setCompressedSize(long compressedSize) {
+    this.compressedSize = compressedSize;
+  }
+
+  void addRead(long bytes, long nanos) {
+    bytesDecompressed += bytes;
+    decompressionTime += nanos;
+  }
+
+  void complete() {
+    end();
+    if (shouldCommit()) {
+      commit();
+    }
+  }
+
+}
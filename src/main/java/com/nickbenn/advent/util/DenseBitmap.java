@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+public class DenseBitmap implements IntBitmap {
+
+  private final BitSet bits;
+
+  public DenseBitmap(BitSet bits) {
+    this.bits = bits;
+  }
+
+  @Override
+  public boolean contains(int value) {
+    return value >= 0 && bits.get(value);
+  }
+
+  @Override
+  public long cardinality() {
+    return bits.cardinality();
+  }
+
+  @Override
+  public IntBitmap union(IntBitmap other) {
+    BitSet union = (BitSet) bits.clone();
+    if (other instanceof DenseBitmap) {
+      union.or(((DenseBitmap) other).bits);
+    } else {
+      other.stream().forEach(union::set);
+    }
+    return new DenseBitmap(union);
+  }
+
+  @Override
+  public IntBitmap intersection(IntBitmap other) {
+    BitSet intersection;
+    if (other instanceof DenseBitmap) {
+      intersection = (BitSet) bits.clone();
+      intersection.and(((DenseBitmap) other).bits);
+    } else {
+      intersection = new BitSet();
+      other.stream().filter(this::contains).forEach(intersection::set);
+    }
+    return new DenseBitmap(intersection);
+  }
+
+  @Override
+  public IntStream stream() {
+    return bits.stream();
+  }
+
+  public BitSet getBits() {
+    return (BitSet) bits.clone();
+  }
+
+}
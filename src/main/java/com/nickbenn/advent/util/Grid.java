@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+
+public class Grid {
+
+  private final ByteBuffer buffer;
+  private final int width;
+  private final int height;
+  private final int stride;
+
+  private Grid(ByteBuffer buffer, int width, int height, int stride) {
+    this.buffer = buffer;
+    this.width = width;
+    this.height = height;
+    this.stride = stride;
+  }
+
+  public static Grid of(byte[] bytes) {
+    return of(ByteBuffer.wrap(bytes));
+  }
+
+  static Grid of(ByteBuffer buffer) {
+    int length = buffer.limit();
+    while (length > 0 && isTerminator(buffer.get(length - 1))) {
+      length--;
+    }
+    int width = 0;
+    while (width < length && !isTerminator(buffer.get(width))) {
+      width++;
+    }
+    int terminator = 0;
+    if (width < length) {
+      boolean crlf = buffer.get(width) == '\r'
+          && width + 1 < length && buffer.get(width + 1) == '\n';
+      terminator = crlf ? 2 : 1;
+    }
+    int stride = width + terminator;
+    int height = (length == 0) ? 0 : (length + terminator) / stride;
+    if (length > 0 && (long) height * stride - terminator != length) {
+      throw new IllegalArgumentException("Grid rows must all have width " + width);
+    }
+    for (int row = 0; row < height; row++) {
+      int start = row * stride;
+      boolean valid = (row == height - 1 || buffer.get(start + stride - 1) == '\n');
+      for (int index = start; valid && index < start + width; index++) {
+        valid = !isTerminator(buffer.get(index));
+      }
+      if (!valid) {
+        throw new IllegalArgumentException("Grid row " + row + " does not have width " + width);
+      }
+    }
+    return new Grid(buffer, width, height, stride);
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getStride() {
+    return stride;
+  }
+
+  public byte get(int row, int column) {
+    return buffer.get(index(row, column));
+  }
+
+  public char getChar(int row, int column) {
+    return (char) (get(row, column) & 0xff);
+  }
+
+  public ByteBuffer getRow(int row) {
+    int start = index(row, 0);
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(start).limit(start + width);
+    return slice.slice().asReadOnlyBuffer();
+  }
+
+  private int index(int row, int column) {
+    if (row < 0 || row >= height || column < 0 || column >= width) {
+      throw new IndexOutOfBoundsException(
+          String.format("(%d, %d) is outside %d x %d grid", row, column, height, width));
+    }
+    return row * stride + column;
+  }
+
+  private static boolean isTerminator(byte b) {
+    return b == '\n' || b == '\r';
+  }
+
+}
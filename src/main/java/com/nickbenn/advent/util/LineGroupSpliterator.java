@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+class LineGroupSpliterator extends Spliterators.AbstractSpliterator<String> {
+
+  private final Spliterator<String> lines;
+  private final StringBuilder group = new StringBuilder();
+
+  private String line;
+
+  LineGroupSpliterator(Spliterator<String> lines) {
+    super(Long.MAX_VALUE, ORDERED | NONNULL);
+    this.lines = lines;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    boolean found = false;
+    group.setLength(0);
+    while (lines.tryAdvance((line) -> this.line = line)) {
+      if (!line.isBlank()) {
+        if (found) {
+          group.append('\n');
+        }
+        group.append(line);
+        found = true;
+      } else if (found) {
+        break;
+      }
+    }
+    line = null;
+    if (found) {
+      action.accept(group.toString());
+    }
+    return found;
+  }
+
+}
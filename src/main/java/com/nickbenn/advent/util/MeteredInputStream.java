@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+class MeteredInputStream extends FilterInputStream {
+
+  private final DecompressEvent event;
+
+  private boolean closed;
+
+  MeteredInputStream(InputStream input, DecompressEvent event) {
+    super(input);
+    this.event = event;
+    event.begin();
+  }
+
+  @Override
+  public int read() throws IOException {
+    long start = System.nanoTime();
+    int value = super.read();
+    event.addRead((value >= 0) ? 1 : 0, System.nanoTime() - start);
+    return value;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    long start = System.nanoTime();
+    int count = super.read(bytes, offset, length);
+    event.addRead(Math.max(count, 0), System.nanoTime() - start);
+    return count;
+  }
+
+  @Override
+  public long skip(long count) throws IOException {
+    long start = System.nanoTime();
+    long skipped = super.skip(count);
+    event.addRead(skipped, System.nanoTime() - start);
+    return skipped;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      if (!closed) {
+        closed = true;
+        event.complete();
+      }
+    }
+  }
+
+}
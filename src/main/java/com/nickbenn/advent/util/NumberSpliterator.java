@@ -0,0 +1,192 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+class NumberSpliterator implements Spliterator.OfLong {
+
+  private static final int MIN_SPLIT_SIZE = 1 << 16;
+
+  private final ByteBuffer buffer;
+  private final int fence;
+  private final boolean trimmed;
+  private final boolean stripped;
+  private final byte delimiter;
+  private final int radix;
+  private final long min;
+  private final long max;
+  private final long negativeMultiplierLimit;
+  private final long positiveMultiplierLimit;
+
+  private int position;
+
+  NumberSpliterator(ByteBuffer buffer, int position, int fence,
+      boolean trimmed, boolean stripped, char delimiter, int radix, long min, long max) {
+    this.buffer = buffer;
+    this.position = position;
+    this.fence = fence;
+    this.trimmed = trimmed;
+    this.stripped = stripped;
+    this.delimiter = (byte) delimiter;
+    this.radix = radix;
+    this.min = min;
+    this.max = max;
+    negativeMultiplierLimit = min / radix;
+    positiveMultiplierLimit = -max / radix;
+  }
+
+  @Override
+  public boolean tryAdvance(LongConsumer action) {
+    while (position < fence) {
+      int start = trimmed ? skipBlanks(position) : position;
+      int index = start;
+      boolean negative = false;
+      if (index < fence) {
+        byte first = buffer.get(index);
+        if (first == '-' || first == '+') {
+          negative = (first == '-');
+          index++;
+        }
+      }
+      long limit = negative ? min : -max;
+      long multiplierLimit = negative ? negativeMultiplierLimit : positiveMultiplierLimit;
+      long result = 0;
+      int digitsStart = index;
+      int digit;
+      while (index < fence && (digit = digit(buffer.get(index))) >= 0) {
+        if (result < multiplierLimit) {
+          throw failure(start);
+        }
+        result *= radix;
+        if (result < limit + digit) {
+          throw failure(start);
+        }
+        result -= digit;
+        index++;
+      }
+      int end = trimmed ? skipBlanks(index) : index;
+      if (end < fence && !isTerminator(buffer.get(end))) {
+        throw failure(start);
+      }
+      position = skipTerminator(end);
+      if (index == start) {
+        if (!stripped) {
+          throw failure(start);
+        }
+      } else if (index == digitsStart) {
+        throw failure(start);
+      } else {
+        action.accept(negative ? result : -result);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachRemaining(LongConsumer action) {
+    //noinspection StatementWithEmptyBody
+    while (tryAdvance(action)) {
+    }
+  }
+
+  @Override
+  public Spliterator.OfLong trySplit() {
+    Spliterator.OfLong prefix = null;
+    if (fence - position >= MIN_SPLIT_SIZE) {
+      int split = position + (fence - position) / 2;
+      while (split < fence && !isSeparator(buffer.get(split - 1))) {
+        split++;
+      }
+      if (split < fence) {
+        prefix = new NumberSpliterator(
+            buffer, position, split, trimmed, stripped, (char) delimiter, radix, min, max);
+        position = split;
+      }
+    }
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return fence - position;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+
+  private int skipBlanks(int index) {
+    byte b;
+    while (index < fence && (b = buffer.get(index)) <= ' ' && !isTerminator(b)) {
+      index++;
+    }
+    return index;
+  }
+
+  private boolean isTerminator(byte b) {
+    return b == '\n' || b == '\r' || b == delimiter;
+  }
+
+  private boolean isSeparator(byte b) {
+    return b == '\n' || b == delimiter;
+  }
+
+  private int skipTerminator(int index) {
+    if (index < fence) {
+      if (buffer.get(index) == '\r' && index + 1 < fence && buffer.get(index + 1) == '\n') {
+        index++;
+      }
+      index++;
+    }
+    return index;
+  }
+
+  private int digit(byte b) {
+    int digit;
+    if (radix <= 10) {
+      digit = b - '0';
+      if (digit >= radix) {
+        digit = -1;
+      }
+    } else {
+      digit = Character.digit(b & 0xff, radix);
+    }
+    return digit;
+  }
+
+  private NumberFormatException failure(int start) {
+    int end = start;
+    while (end < fence && !isTerminator(buffer.get(end))) {
+      end++;
+    }
+    while (trimmed && end > start && buffer.get(end - 1) <= ' ') {
+      end--;
+    }
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(start + i);
+    }
+    return new NumberFormatException(
+        "For input string: \"" + new String(bytes, StandardCharsets.UTF_8) + "\"");
+  }
+
+}
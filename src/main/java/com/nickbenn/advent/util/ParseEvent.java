@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.nickbenn.advent.Parse")
+@Label("Parse")
+@Category({"Advent of Code", "Parser"})
+@StackTrace(false)
+public class ParseEvent extends Event {
+
+  @Label("Source")
+  private String source;
+
+  @Label("Method")
+  private String method;
+
+  @Label("Bytes Read")
+  @DataAmount
+  private long bytesRead;
+
+  @Label("Lines")
+  private long lines;
+
+  @Label("Groups")
+  private long groups;
+
+  @Label("Values")
+  private long values;
+
+  private final transient LongAdder byteCount = new LongAdder();
+  private final transient LongAdder lineCount = new LongAdder();
+  private final transient LongAdder groupCount = new LongAdder();
+  private final transient LongAdder valueCount = new LongAdder();
+
+  private transient boolean completed;
+
+  ParseEvent(String source, String method) {
+    this.source = source;
+    this.method = method;
+  }
+
+  void addBytes(long count) {
+    byteCount.add(count);
+  }
+
+  void addLine(String line) {
+    lineCount.increment();
+    byteCount.add(line.length() + 1);
+  }
+
+  void addGroup(String group) {
+    groupCount.increment();
+  }
+
+  void addValue(long value) {
+    valueCount.increment();
+  }
+
+  void addValues(long count) {
+    valueCount.add(count);
+  }
+
+  synchronized void complete() {
+    if (!completed) {
+      completed = true;
+      end();
+      if (shouldCommit()) {
+        bytesRead = byteCount.sum();
+        lines = lineCount.sum();
+        groups = groupCount.sum();
+        values = valueCount.sum();
+        commit();
+      }
+    }
+  }
+
+
+}
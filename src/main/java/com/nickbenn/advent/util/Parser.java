@@ -15,47 +15,133 @@
  */
 package com.nickbenn.advent.util;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Parser {
 
-  private static final Pattern BLANK_LINE_SPLITTER = Pattern.compile("\\n\\s*\\n");
+  private static final long MAX_SEGMENT_SIZE = 1L << 30;
+  private static final int DEFAULT_RADIX = 10;
+  private static final char LINE_DELIMITER = '\n';
+  private static final String FILE_SCHEME = "file";
+  private static final String STREAM_NAME = "<stream>";
+  private static final String CHANNEL_NAME = "<channel>";
+  private static final String STDIN_NAME = "<stdin>";
+  private static final int PIPELINE_CAPACITY = 4;
+  private static final int PIPELINE_BATCH_SIZE = 1 << 14;
 
-  private final Path path;
+  private final Source source;
   private final boolean trimmed;
   private final boolean stripped;
+  private final boolean mapped;
+  private final boolean parallel;
+  private final char delimiter;
+  private final boolean cached;
+  private final boolean sparse;
+  private final Compression compression;
+  private final boolean streamed;
 
-  private Parser(Path path, boolean trimmed, boolean stripped) {
-    this.path = path;
+  private Parser(Source source, boolean trimmed, boolean stripped, boolean mapped, boolean parallel,
+      char delimiter, boolean cached, boolean sparse, Compression compression) {
+    this.source = source;
     this.trimmed = trimmed;
     this.stripped = stripped;
+    this.mapped = mapped;
+    this.parallel = parallel;
+    this.delimiter = delimiter;
+    this.cached = cached;
+    this.sparse = sparse;
+    this.compression = compression;
+    streamed = (compression != Compression.NONE || source.getPath() == null);
+  }
+
+  public static int[] intArray(String text, char delimiter) {
+    byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+    return StreamSupport
+        .longStream(new NumberSpliterator(ByteBuffer.wrap(bytes), 0, bytes.length,
+            true, true, delimiter, DEFAULT_RADIX, Integer.MIN_VALUE, Integer.MAX_VALUE), false)
+        .mapToInt((value) -> (int) value)
+        .toArray();
   }
 
   public Stream<String> lineStream() throws IOException {
-    return rawLines()
+    ParseEvent event = new ParseEvent(source.toString(), "lineStream");
+    Stream<String> lines = rawLines();
+    if (event.isEnabled()) {
+      event.begin();
+      lines = completing(lines.peek(event::addLine), event);
+    }
+    return lines
         .map((line) -> trimmed ? line.trim() : line)
         .filter((line) -> !(stripped && line.isEmpty()));
   }
 
   public IntStream intStream() throws IOException {
-    return lineStream()
-        .mapToInt(Integer::parseInt);
+    return intStream(DEFAULT_RADIX);
+  }
+
+  public IntStream intStream(int radix) throws IOException {
+    IntStream stream;
+    if (mapped || streamed) {
+      stream = byteStream(radix, Integer.MIN_VALUE, Integer.MAX_VALUE)
+          .mapToInt((value) -> (int) value);
+    } else if (delimiter != LINE_DELIMITER) {
+      stream = lineStream()
+          .flatMapToLong((line) -> tokenStream(line, radix, Integer.MIN_VALUE, Integer.MAX_VALUE))
+          .mapToInt((value) -> (int) value);
+    } else {
+      stream = lineStream()
+          .mapToInt((line) -> Integer.parseInt(line, radix));
+    }
+    return parallel ? stream.parallel() : stream;
   }
 
   public LongStream longStream() throws IOException {
-    return lineStream()
-        .mapToLong(Long::parseLong);
+    return longStream(DEFAULT_RADIX);
+  }
+
+  public LongStream longStream(int radix) throws IOException {
+    LongStream stream;
+    if (mapped || streamed) {
+      stream = byteStream(radix, Long.MIN_VALUE, Long.MAX_VALUE);
+    } else if (delimiter != LINE_DELIMITER) {
+      stream = lineStream()
+          .flatMapToLong((line) -> tokenStream(line, radix, Long.MIN_VALUE, Long.MAX_VALUE));
+    } else {
+      stream = lineStream()
+          .mapToLong((line) -> Long.parseLong(line, radix));
+    }
+    return parallel ? stream.parallel() : stream;
   }
 
   public DoubleStream doubleStream() throws IOException {
@@ -63,14 +149,206 @@ public class Parser {
         .mapToDouble(Double::parseDouble);
   }
 
+  public int[] intArray() throws IOException {
+    return intArray(DEFAULT_RADIX);
+  }
+
+  public int[] intArray(int radix) throws IOException {
+    ArrayCache cache = cache(int.class, radix);
+    int[] data = null;
+    if (cache != null) {
+      try {
+        data = cache.readInts();
+      } catch (IOException e) {
+        // Unreadable cache; parse the source instead.
+      }
+    }
+    if (data == null) {
+      try (IntStream stream = intStream(radix)) {
+        data = stream.toArray();
+      }
+      if (cache != null) {
+        try {
+          cache.write(data);
+        } catch (IOException e) {
+          // The cache is an optimization; the parsed array is still good.
+        }
+      }
+    }
+    return data;
+  }
+
+  public long[] longArray() throws IOException {
+    return longArray(DEFAULT_RADIX);
+  }
+
+  public long[] longArray(int radix) throws IOException {
+    ArrayCache cache = cache(long.class, radix);
+    long[] data = null;
+    if (cache != null) {
+      try {
+        data = cache.readLongs();
+      } catch (IOException e) {
+        // Unreadable cache; parse the source instead.
+      }
+    }
+    if (data == null) {
+      try (LongStream stream = longStream(radix)) {
+        data = stream.toArray();
+      }
+      if (cache != null) {
+        try {
+          cache.write(data);
+        } catch (IOException e) {
+          // The cache is an optimization; the parsed array is still good.
+        }
+      }
+    }
+    return data;
+  }
+
+  public RecordExtractor.Records extract(RecordExtractor extractor) throws IOException {
+    ParseEvent event = new ParseEvent(source.toString(), "extract");
+    event.begin();
+    RecordExtractor.Records records = extractor.newRecords();
+    if (streamed) {
+      try (Stream<ByteBuffer> chunks = chunkStream(LINE_DELIMITER)) {
+        chunks.forEach((chunk) -> {
+          extractor.extract(chunk, records);
+          event.addBytes(chunk.limit());
+        });
+      }
+    } else if (mapped) {
+      for (ByteBuffer segment : mapSegments(LINE_DELIMITER)) {
+        extractor.extract(segment, records);
+        event.addBytes(segment.limit());
+      }
+    } else {
+      try (Stream<String> lines = lineStream()) {
+        lines.forEach((line) -> {
+          ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.ISO_8859_1));
+          extractor.extract(buffer, records);
+        });
+      }
+    }
+    event.addValues(records.size());
+    event.complete();
+    return records;
+  }
+
+  public void pipeInts(IntBatchConsumer consumer) throws IOException {
+    pipeInts(DEFAULT_RADIX, consumer);
+  }
+
+  public void pipeInts(int radix, IntBatchConsumer consumer) throws IOException {
+    BlockingQueue<IntBatch> free = new ArrayBlockingQueue<>(PIPELINE_CAPACITY + 2);
+    for (int i = 0; i < PIPELINE_CAPACITY + 2; i++) {
+      free.add(new IntBatch());
+    }
+    Pipeline.<IntBatch>run(PIPELINE_CAPACITY, (sink) -> {
+      try (Stream<ByteBuffer> chunks = (mapped && !streamed)
+          ? mapSegments(delimiter).stream().flatMap((segment) -> slices(segment, delimiter))
+          : chunkStream(delimiter)) {
+        IntBatch[] current = {Pipeline.acquire(free)};
+        chunks.forEach((chunk) -> {
+          new NumberSpliterator(chunk, chunk.position(), chunk.limit(), trimmed, stripped,
+              delimiter, radix, Integer.MIN_VALUE, Integer.MAX_VALUE)
+              .forEachRemaining((long value) -> {
+                IntBatch batch = current[0];
+                batch.values[batch.length++] = (int) value;
+                if (batch.length == batch.values.length) {
+                  sink.accept(batch);
+                  current[0] = Pipeline.acquire(free);
+                }
+              });
+          if (current[0].length > 0) {
+            sink.accept(current[0]);
+            current[0] = Pipeline.acquire(free);
+          }
+        });
+      }
+    }, (batch) -> {
+      consumer.accept(batch.values, batch.length);
+      batch.length = 0;
+      free.add(batch);
+    });
+  }
+
+  public void pipeRecords(RecordExtractor extractor, Consumer<RecordExtractor.Records> consumer)
+      throws IOException {
+    BlockingQueue<RecordExtractor.Records> free = new ArrayBlockingQueue<>(PIPELINE_CAPACITY + 2);
+    for (int i = 0; i < PIPELINE_CAPACITY + 2; i++) {
+      free.add(extractor.newRecords());
+    }
+    Pipeline.<RecordExtractor.Records>run(PIPELINE_CAPACITY, (sink) -> {
+      try (Stream<ByteBuffer> chunks = (mapped && !streamed)
+          ? mapSegments(LINE_DELIMITER).stream().flatMap(Parser::slices)
+          : chunkStream(LINE_DELIMITER)) {
+        chunks.forEach((chunk) -> {
+          RecordExtractor.Records records = Pipeline.acquire(free);
+          extractor.extract(chunk, records);
+          sink.accept(records);
+        });
+      }
+    }, (records) -> {
+      consumer.accept(records);
+      records.clear();
+      free.add(records);
+    });
+  }
+
+  public void pipeBitMatrices(Consumer<BitMatrix> consumer) throws IOException {
+    BlockingQueue<BitMatrix> free = new ArrayBlockingQueue<>(PIPELINE_CAPACITY + 2);
+    for (int i = 0; i < PIPELINE_CAPACITY + 2; i++) {
+      free.add(new BitMatrix());
+    }
+    Pipeline.<BitMatrix>run(PIPELINE_CAPACITY, (sink) -> {
+      try (Stream<ByteBuffer> chunks = (mapped && !streamed)
+          ? mapSegments(LINE_DELIMITER).stream().flatMap(Parser::slices)
+          : chunkStream(LINE_DELIMITER)) {
+        chunks.forEach((chunk) -> {
+          BitMatrix matrix = Pipeline.acquire(free);
+          matrix.add(chunk, trimmed, stripped);
+          sink.accept(matrix);
+        });
+      }
+    }, (matrix) -> {
+      consumer.accept(matrix);
+      matrix.clear();
+      free.add(matrix);
+    });
+  }
+
   public BitSet bitSet() throws IOException {
     try (IntStream stream = intStream()) {
       return stream.collect(BitSet::new, BitSet::set, BitSet::or);
     }
   }
 
+  public IntBitmap bitmap() throws IOException {
+    IntBitmap bitmap;
+    if (sparse) {
+      SparseBitmap sparseBitmap = new SparseBitmap();
+      try (IntStream stream = intStream().sequential()) {
+        stream.forEach(sparseBitmap::add);
+      }
+      bitmap = sparseBitmap.runOptimize();
+    } else {
+      bitmap = new DenseBitmap(bitSet());
+    }
+    return bitmap;
+  }
+
   public String rawString() throws IOException {
-    return Files.readString(path);
+    String text;
+    if (streamed) {
+      try (InputStream input = openStream()) {
+        text = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+      }
+    } else {
+      text = Files.readString(source.getPath());
+    }
+    return text;
   }
 
   public String joinedString() throws IOException {
@@ -84,11 +362,69 @@ public class Parser {
   }
 
   public Stream<String> lineGroupStream() throws IOException {
-    return BLANK_LINE_SPLITTER.splitAsStream(rawString())
+    ParseEvent event = new ParseEvent(source.toString(), "lineGroupStream");
+    Stream<String> lines = rawLines();
+    if (event.isEnabled()) {
+      event.begin();
+      lines = lines.peek(event::addLine);
+    }
+    Stream<String> groups =
+        StreamSupport.stream(new LineGroupSpliterator(lines.spliterator()), false)
+            .onClose(lines::close);
+    if (event.isEnabled()) {
+      groups = completing(groups.peek(event::addGroup), event);
+    }
+    return groups
         .map((line) -> trimmed ? line.trim() : line)
         .filter((line) -> !(stripped && line.isEmpty()));
   }
 
+  public Grid grid() throws IOException {
+    ByteBuffer buffer;
+    if (mapped && !streamed) {
+      try (FileChannel channel = FileChannel.open(source.getPath(), StandardOpenOption.READ)) {
+        if (channel.size() > Integer.MAX_VALUE) {
+          throw new IOException("Grid too large to map: " + source);
+        }
+        buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      }
+    } else {
+      try (InputStream input = openStream()) {
+        buffer = ByteBuffer.wrap(input.readAllBytes());
+      }
+    }
+    return Grid.of(buffer);
+  }
+
+  public BitMatrix bitMatrix() throws IOException {
+    ParseEvent event = new ParseEvent(source.toString(), "bitMatrix");
+    event.begin();
+    BitMatrix matrix;
+    if (mapped && !streamed) {
+      Stream<ByteBuffer> slices = mapSegments(LINE_DELIMITER).stream().flatMap(Parser::slices);
+      matrix = BitMatrix.concat((parallel ? slices.parallel() : slices)
+          .map((slice) -> {
+            BitMatrix partial = new BitMatrix();
+            partial.add(slice, trimmed, stripped);
+            return partial;
+          })
+          .collect(Collectors.toList()));
+      event.addBytes(Files.size(source.getPath()));
+    } else {
+      BitMatrix streamedMatrix = new BitMatrix();
+      try (Stream<ByteBuffer> chunks = chunkStream(LINE_DELIMITER)) {
+        chunks.forEach((chunk) -> {
+          streamedMatrix.add(chunk, trimmed, stripped);
+          event.addBytes(chunk.limit());
+        });
+      }
+      matrix = streamedMatrix;
+    }
+    event.addValues(matrix.getHeight());
+    event.complete();
+    return matrix;
+  }
+
   public Stream<char[]> charArrayStream() throws IOException {
     return lineStream()
         .map(String::toCharArray);
@@ -100,19 +436,220 @@ public class Parser {
     }
   }
 
+  private ArrayCache cache(Class<?> type, int radix) throws IOException {
+    return (cached && source.getPath() != null)
+        ? new ArrayCache(source.getPath(),
+            String.format("%s:%d:%b:%b:%d", type, radix, trimmed, stripped, (int) delimiter))
+        : null;
+  }
+
   private Stream<String> rawLines() throws IOException {
-    return Files.lines(path);
+    Stream<String> lines;
+    if (streamed) {
+      BufferedReader reader = new BufferedReader(
+          new InputStreamReader(openStream(), StandardCharsets.UTF_8), Compression.BUFFER_SIZE);
+      lines = reader.lines().onClose(() -> close(reader));
+    } else {
+      lines = Files.lines(source.getPath());
+    }
+    return lines;
+  }
+
+  private InputStream openStream() throws IOException {
+    InputStream input = new BufferedInputStream(source.open(), Compression.BUFFER_SIZE);
+    try {
+      input = compression.decode(input);
+      if (compression != Compression.NONE) {
+        DecompressEvent event = new DecompressEvent(source.toString(), compression);
+        if (event.isEnabled()) {
+          event.setCompressedSize(Math.max(source.size(), 0));
+          input = new MeteredInputStream(input, event);
+        }
+      }
+    } catch (IOException e) {
+      input.close();
+      throw e;
+    }
+    return input;
+  }
+
+  private Stream<ByteBuffer> chunkStream(char delimiter) throws IOException {
+    InputStream input = openStream();
+    return StreamSupport.stream(new ChunkSpliterator(input, delimiter), false)
+        .onClose(() -> close(input));
+  }
+
+  private LongStream byteStream(int radix, long min, long max) throws IOException {
+    ParseEvent event = new ParseEvent(source.toString(), "byteStream");
+    LongStream stream;
+    if (streamed) {
+      stream = chunkStream(delimiter)
+          .peek((chunk) -> event.addBytes(chunk.limit()))
+          .flatMapToLong((chunk) -> StreamSupport.longStream(new NumberSpliterator(
+              chunk, 0, chunk.limit(), trimmed, stripped, delimiter, radix, min, max), false));
+    } else {
+      List<LongStream> streams = new ArrayList<>();
+      for (ByteBuffer segment : mapSegments(delimiter)) {
+        streams.add(StreamSupport.longStream(new NumberSpliterator(
+            segment, 0, segment.limit(), trimmed, stripped, delimiter, radix, min, max), false));
+        event.addBytes(segment.limit());
+      }
+      stream = concat(streams, 0, streams.size());
+    }
+    if (event.isEnabled()) {
+      event.begin();
+      stream = completing(stream.peek(event::addValue), event);
+    }
+    return stream;
+  }
+
+  private List<ByteBuffer> mapSegments(char delimiter) throws IOException {
+    List<ByteBuffer> segments = new ArrayList<>();
+    Path path = source.getPath();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      for (long start = 0, length; start < size; start += length) {
+        length = Math.min(size - start, MAX_SEGMENT_SIZE);
+        MappedByteBuffer segment = channel.map(MapMode.READ_ONLY, start, length);
+        if (start + length < size) {
+          while (length > 0 && segment.get((int) length - 1) != LINE_DELIMITER
+              && segment.get((int) length - 1) != delimiter) {
+            length--;
+          }
+          if (length == 0) {
+            throw new IOException("Line too long to map: " + path);
+          }
+          segment.limit((int) length);
+        }
+        segments.add(segment);
+      }
+    }
+    return segments;
+  }
+
+  private LongStream tokenStream(String line, int radix, long min, long max) {
+    // Keep the line terminator, so empty fields at the end of a line (or an empty line) are
+    // treated exactly as they are when decoding the whole buffer.
+    byte[] bytes = (line + LINE_DELIMITER).getBytes(StandardCharsets.ISO_8859_1);
+    return StreamSupport.longStream(new NumberSpliterator(
+        ByteBuffer.wrap(bytes), 0, bytes.length, trimmed, stripped, delimiter, radix, min, max),
+        false);
+  }
+
+  private static Stream<ByteBuffer> slices(ByteBuffer segment) {
+    return slices(segment, LINE_DELIMITER);
+  }
+
+  private static Stream<ByteBuffer> slices(ByteBuffer segment, char delimiter) {
+    List<ByteBuffer> slices = new ArrayList<>();
+    int limit = segment.limit();
+    for (int start = 0, end; start < limit; start = end) {
+      end = (int) Math.min(limit, (long) start + ChunkSpliterator.CHUNK_SIZE);
+      while (end < limit && segment.get(end - 1) != LINE_DELIMITER
+          && segment.get(end - 1) != delimiter) {
+        end++;
+      }
+      ByteBuffer slice = segment.duplicate();
+      slice.position(start).limit(end);
+      slices.add(slice);
+    }
+    return slices.stream();
+  }
+
+  private static <T> Stream<T> completing(Stream<T> stream, ParseEvent event) {
+    // Terminal operations rarely close their stream, so the event is also completed once the
+    // source is exhausted.
+    Spliterator<T> spliterator = CompletingSpliterator.of(stream.spliterator(), event::complete);
+    return StreamSupport.stream(spliterator, stream.isParallel())
+        .onClose(stream::close)
+        .onClose(event::complete);
+  }
+
+  private static LongStream completing(LongStream stream, ParseEvent event) {
+    Spliterator.OfLong spliterator =
+        CompletingSpliterator.ofLong(stream.spliterator(), event::complete);
+    return StreamSupport.longStream(spliterator, stream.isParallel())
+        .onClose(stream::close)
+        .onClose(event::complete);
+  }
+
+  private static void close(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static LongStream concat(List<LongStream> streams, int from, int to) {
+    LongStream stream;
+    if (from == to) {
+      stream = LongStream.empty();
+    } else if (to - from == 1) {
+      stream = streams.get(from);
+    } else {
+      int midpoint = (from + to) >>> 1;
+      stream = LongStream.concat(concat(streams, from, midpoint), concat(streams, midpoint, to));
+    }
+    return stream;
+  }
+
+  private static class IntBatch {
+
+    private final int[] values = new int[PIPELINE_BATCH_SIZE];
+    private int length;
+
   }
 
   public static class Builder {
 
 
     private final URI uri;
+    private final Source source;
     private boolean trimmed;
     private boolean stripped;
+    private boolean mapped;
+    private boolean parallel;
+    private char delimiter = LINE_DELIMITER;
+    private boolean cached;
+    private boolean sparse;
+    private boolean zlib;
+    private boolean buffered;
 
     public Builder(URI uri) {
       this.uri = uri;
+      source = null;
+    }
+
+    public Builder(InputStream input) {
+      this(Source.of(input, STREAM_NAME));
+    }
+
+    public Builder(ReadableByteChannel channel) {
+      this(Source.of(Channels.newInputStream(channel), CHANNEL_NAME));
+    }
+
+    private Builder(Source source) {
+      uri = null;
+      this.source = source;
+    }
+
+    public static Builder stdin() {
+      return new Builder(Source.of(System.in, STDIN_NAME));
+    }
+
+    public Builder copy() {
+      Builder copy = (source != null) ? new Builder(source) : new Builder(uri);
+      copy.trimmed = trimmed;
+      copy.stripped = stripped;
+      copy.mapped = mapped;
+      copy.parallel = parallel;
+      copy.delimiter = delimiter;
+      copy.cached = cached;
+      copy.sparse = sparse;
+      copy.zlib = zlib;
+      copy.buffered = buffered;
+      return copy;
     }
 
     public Builder setTrimmed(boolean trimmed) {
@@ -125,8 +662,64 @@ public class Parser {
       return this;
     }
 
+    public Builder setMapped(boolean mapped) {
+      this.mapped = mapped;
+      return this;
+    }
+
+    public Builder setParallel(boolean parallel) {
+      this.parallel = parallel;
+      return this;
+    }
+
+    public Builder setDelimiter(char delimiter) {
+      if (delimiter > Byte.MAX_VALUE) {
+        throw new IllegalArgumentException("Delimiter must be an ASCII character");
+      }
+      this.delimiter = delimiter;
+      return this;
+    }
+
+    public Builder setCached(boolean cached) {
+      this.cached = cached;
+      return this;
+    }
+
+    public Builder setSparse(boolean sparse) {
+      this.sparse = sparse;
+      return this;
+    }
+
+    public Builder setZlib(boolean zlib) {
+      this.zlib = zlib;
+      return this;
+    }
+
+    public Builder setBuffered(boolean buffered) {
+      this.buffered = buffered;
+      return this;
+    }
+
     public Parser build() throws URISyntaxException, IOException {
-      return new Parser(Path.of(uri), trimmed, stripped);
+      Source source = this.source;
+      if (source == null) {
+        source = FILE_SCHEME.equalsIgnoreCase(uri.getScheme())
+            ? Source.of(Path.of(uri))
+            : Source.of(uri.toURL());
+      }
+      if (buffered) {
+        source = source.buffered();
+      }
+      Compression compression = (zlib || Compression.isZlibName(source.toString()))
+          ? Compression.ZLIB
+          : detectCompression(source);
+      return new Parser(source, trimmed, stripped, mapped, parallel, delimiter, cached, sparse,
+          compression);
+    }
+
+    private static Compression detectCompression(Source source) throws IOException {
+      byte[] header = new byte[Compression.HEADER_SIZE];
+      return Compression.detect(header, source.readHeader(header));
     }
 
   }
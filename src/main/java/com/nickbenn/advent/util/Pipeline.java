@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+class Pipeline {
+
+  private static final Object END = new Object();
+  private static final String THREAD_NAME = "parser-pipeline";
+  private static final long CANCEL_TIMEOUT_MILLIS = 1000;
+
+  private Pipeline() {
+  }
+
+  static <T> void run(int capacity, Producer<T> producer, Consumer<? super T> consumer)
+      throws IOException {
+    BlockingQueue<Object> queue = new ArrayBlockingQueue<>(capacity);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        producer.produce((batch) -> put(queue, batch));
+      } catch (IOException | RuntimeException | Error e) {
+        failure.set(e);
+      }
+      if (!Thread.currentThread().isInterrupted()) {
+        try {
+          queue.put(END);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }, THREAD_NAME);
+    thread.setDaemon(true);
+    thread.start();
+    try {
+      for (Object item = take(queue); item != END; item = take(queue)) {
+        @SuppressWarnings("unchecked")
+        T batch = (T) item;
+        consumer.accept(batch);
+      }
+    } catch (IOException | RuntimeException | Error e) {
+      // A producer blocked in a read of stdin or a pipe may not respond to the interrupt; rather
+      // than hang, leave the daemon thread behind and report it.
+      thread.interrupt();
+      if (!cancel(thread)) {
+        e.addSuppressed(new IOException("Parser thread did not stop; abandoned"));
+      }
+      throw e;
+    }
+    join(thread);
+    rethrow(failure.get());
+  }
+
+  static <T> T acquire(BlockingQueue<T> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Pipeline cancelled");
+    }
+  }
+
+  private static void put(BlockingQueue<Object> queue, Object item) {
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Pipeline cancelled");
+    }
+  }
+
+  private static Object take(BlockingQueue<Object> queue) throws InterruptedIOException {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for parsed batch");
+    }
+  }
+
+  private static void join(Thread thread) throws InterruptedIOException {
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for parser thread");
+    }
+  }
+
+  private static boolean cancel(Thread thread) {
+    boolean stopped;
+    try {
+      thread.join(CANCEL_TIMEOUT_MILLIS);
+      stopped = !thread.isAlive();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      stopped = false;
+    }
+    return stopped;
+  }
+
+  private static void rethrow(Throwable failure) throws IOException {
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  interface Producer<T> {
+
+    void produce(Consumer<T> sink) throws IOException;
+
+  }
+
+}
@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+public interface PuzzleProvider {
+
+  int getDay();
+
+  Puzzle parse(Parser.Builder builder) throws URISyntaxException, IOException;
+
+  default URL getInput() {
+    return getClass().getResource(Defaults.FILENAME);
+  }
+
+}
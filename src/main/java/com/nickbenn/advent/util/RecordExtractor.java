@@ -0,0 +1,233 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RecordExtractor {
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private final Field[] fields;
+  private final int columnCount;
+
+  private RecordExtractor(Field[] fields, int columnCount) {
+    this.fields = fields;
+    this.columnCount = columnCount;
+  }
+
+  public Records extract(ByteBuffer buffer) {
+    Records records = newRecords();
+    extract(buffer, records);
+    return records;
+  }
+
+  Records newRecords() {
+    return new Records(columnCount);
+  }
+
+  void extract(ByteBuffer buffer, Records records) {
+    int fence = buffer.limit();
+    int[] values = new int[columnCount];
+    for (int start = buffer.position(), end; start < fence; start = end + 1) {
+      end = start;
+      while (end < fence && buffer.get(end) != '\n') {
+        end++;
+      }
+      if (extractLine(buffer, start, end, values)) {
+        records.add(values);
+      }
+    }
+  }
+
+  private boolean extractLine(ByteBuffer buffer, int start, int end, int[] values) {
+    int index = start;
+    for (int i = 0; index >= 0 && i < fields.length; i++) {
+      index = fields[i].match(buffer, skipBlanks(buffer, index, end), end, values);
+    }
+    return index >= 0 && skipBlanks(buffer, index, end) == end;
+  }
+
+  private static int skipBlanks(ByteBuffer buffer, int index, int end) {
+    while (index < end && buffer.get(index) <= ' ') {
+      index++;
+    }
+    return index;
+  }
+
+  private static boolean matches(ByteBuffer buffer, int index, int end, byte[] token) {
+    boolean matches = (end - index >= token.length);
+    for (int i = 0; matches && i < token.length; i++) {
+      matches = (buffer.get(index + i) == token[i]);
+    }
+    return matches;
+  }
+
+  public static class Records {
+
+    private final int[][] columns;
+    private int size;
+
+    private Records(int columnCount) {
+      columns = new int[columnCount][INITIAL_CAPACITY];
+    }
+
+    public int size() {
+      return size;
+    }
+
+    public int[] getColumn(int index) {
+      return Arrays.copyOf(columns[index], size);
+    }
+
+    public int get(int column, int row) {
+      if (row >= size) {
+        throw new IndexOutOfBoundsException(row);
+      }
+      return columns[column][row];
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    private void add(int[] values) {
+      if (size == columns[0].length) {
+        for (int i = 0; i < columns.length; i++) {
+          columns[i] = Arrays.copyOf(columns[i], 2 * size);
+        }
+      }
+      for (int i = 0; i < columns.length; i++) {
+        columns[i][size] = values[i];
+      }
+      size++;
+    }
+
+  }
+
+  public static class Builder {
+
+    private final List<Field> fields = new ArrayList<>();
+    private int columnCount;
+
+    public Builder literal(String token) {
+      fields.add(new Literal(bytes(token)));
+      return this;
+    }
+
+    public Builder unsignedInt() {
+      fields.add(new UnsignedInt(columnCount++));
+      return this;
+    }
+
+    public Builder keyword(String... keywords) {
+      fields.add(new Keyword(columnCount++,
+          Arrays.stream(keywords).map(Builder::bytes).toArray(byte[][]::new)));
+      return this;
+    }
+
+    public RecordExtractor build() {
+      if (columnCount == 0) {
+        throw new IllegalStateException("Layout must include at least one value field");
+      }
+      return new RecordExtractor(fields.toArray(new Field[0]), columnCount);
+    }
+
+    private static byte[] bytes(String token) {
+      return token.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+  }
+
+  private abstract static class Field {
+
+    abstract int match(ByteBuffer buffer, int index, int end, int[] values);
+
+  }
+
+  private static class Literal extends Field {
+
+    private final byte[] token;
+
+    private Literal(byte[] token) {
+      this.token = token;
+    }
+
+    @Override
+    int match(ByteBuffer buffer, int index, int end, int[] values) {
+      return matches(buffer, index, end, token) ? index + token.length : -1;
+    }
+
+  }
+
+  private static class UnsignedInt extends Field {
+
+    private final int column;
+
+    private UnsignedInt(int column) {
+      this.column = column;
+    }
+
+    @Override
+    int match(ByteBuffer buffer, int index, int end, int[] values) {
+      int start = index;
+      int value = 0;
+      int digit;
+      while (index < end && (digit = buffer.get(index) - '0') >= 0 && digit <= 9) {
+        if (value > (Integer.MAX_VALUE - digit) / 10) {
+          throw new NumberFormatException("Value out of range at byte offset " + start);
+        }
+        value = value * 10 + digit;
+        index++;
+      }
+      values[column] = value;
+      return (index > start) ? index : -1;
+    }
+
+  }
+
+  private static class Keyword extends Field {
+
+    private final int column;
+    private final byte[][] keywords;
+
+    private Keyword(int column, byte[][] keywords) {
+      this.column = column;
+      this.keywords = keywords;
+    }
+
+    @Override
+    int match(ByteBuffer buffer, int index, int end, int[] values) {
+      int next = -1;
+      for (int ordinal = 0; next < 0 && ordinal < keywords.length; ordinal++) {
+        byte[] keyword = keywords[ordinal];
+        int candidate = index + keyword.length;
+        if (matches(buffer, index, end, keyword)
+            && (candidate == end || !Character.isLetterOrDigit(buffer.get(candidate)))) {
+          values[column] = ordinal;
+          next = candidate;
+        }
+      }
+      return next;
+    }
+
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.nickbenn.advent.Solve")
+@Label("Solve")
+@Category({"Advent of Code", "Solver"})
+@StackTrace(false)
+public class SolveEvent extends Event {
+
+  @Label("Puzzle")
+  private Class<?> puzzle;
+
+  @Label("Method")
+  private String method;
+
+  @Label("Input Size")
+  private long inputSize;
+
+  @Label("Result")
+  private long result;
+
+  private SolveEvent() {
+  }
+
+  public static SolveEvent start() {
+    SolveEvent event = new SolveEvent();
+    event.begin();
+    return event;
+  }
+
+  public void complete(Class<?> puzzle, String method, long inputSize, long result) {
+    end();
+    if (shouldCommit()) {
+      this.puzzle = puzzle;
+      this.method = method;
+      this.inputSize = inputSize;
+      this.result = result;
+      commit();
+    }
+  }
+
+}
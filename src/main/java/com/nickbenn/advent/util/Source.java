@@ -0,0 +1,236 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+abstract class Source {
+
+  private static final int MAX_BLOCK_SIZE = 1 << 30;
+
+  static Source of(Path path) {
+    return new PathSource(path);
+  }
+
+  static Source of(URL url) {
+    return new UrlSource(url);
+  }
+
+  static Source of(InputStream input, String name) {
+    return new StreamSource(input, name);
+  }
+
+  abstract InputStream open() throws IOException;
+
+  abstract long size() throws IOException;
+
+  Path getPath() {
+    return null;
+  }
+
+  Source buffered() {
+    return this;
+  }
+
+  int readHeader(byte[] header) throws IOException {
+    try (InputStream input = open()) {
+      return input.readNBytes(header, 0, header.length);
+    }
+  }
+
+  private static class PathSource extends Source {
+
+    private final Path path;
+
+    private PathSource(Path path) {
+      this.path = path;
+    }
+
+    @Override
+    InputStream open() throws IOException {
+      return Files.newInputStream(path);
+    }
+
+    @Override
+    long size() throws IOException {
+      return Files.size(path);
+    }
+
+    @Override
+    Path getPath() {
+      return path;
+    }
+
+    @Override
+    public String toString() {
+      return path.toString();
+    }
+
+  }
+
+  private static class UrlSource extends Source {
+
+    private final URL url;
+
+    private UrlSource(URL url) {
+      this.url = url;
+    }
+
+    @Override
+    InputStream open() throws IOException {
+      return url.openStream();
+    }
+
+    @Override
+    long size() throws IOException {
+      URLConnection connection = url.openConnection();
+      long size = connection.getContentLengthLong();
+      connection.getInputStream().close();
+      return size;
+    }
+
+    @Override
+    public String toString() {
+      return url.toString();
+    }
+
+  }
+
+  private static class StreamSource extends Source {
+
+    private final BufferedInputStream input;
+    private final String name;
+
+    private boolean opened;
+    private Source buffered;
+
+    private StreamSource(InputStream input, String name) {
+      this.input = new BufferedInputStream(input, Compression.BUFFER_SIZE);
+      this.name = name;
+    }
+
+    @Override
+    synchronized InputStream open() {
+      if (opened) {
+        throw new IllegalStateException(
+            "Stream source already read; use setBuffered(true) to read it more than once: " + name);
+      }
+      opened = true;
+      return new FilterInputStream(input) {
+        @Override
+        public void close() {
+        }
+      };
+    }
+
+    @Override
+    long size() {
+      return -1;
+    }
+
+    @Override
+    synchronized Source buffered() {
+      if (buffered == null) {
+        buffered = new BufferedSource(input, name);
+      }
+      return buffered;
+    }
+
+    @Override
+    synchronized int readHeader(byte[] header) throws IOException {
+      input.mark(header.length);
+      int length = 0;
+      int count = 0;
+      while (count >= 0 && Compression.isPartialMagic(header, length)) {
+        count = input.read(header, length, header.length - length);
+        if (count > 0) {
+          length += count;
+        }
+      }
+      input.reset();
+      return length;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+
+  }
+
+  private static class BufferedSource extends Source {
+
+    private final InputStream input;
+    private final String name;
+
+    private List<byte[]> blocks;
+
+    private BufferedSource(InputStream input, String name) {
+      this.input = input;
+      this.name = name;
+    }
+
+    @Override
+    InputStream open() throws IOException {
+      return new SequenceInputStream(Collections.enumeration(getBlocks()
+          .stream()
+          .map(ByteArrayInputStream::new)
+          .collect(Collectors.toList())));
+    }
+
+    @Override
+    long size() throws IOException {
+      long size = 0;
+      for (byte[] block : getBlocks()) {
+        size += block.length;
+      }
+      return size;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+
+    private synchronized List<byte[]> getBlocks() throws IOException {
+      if (blocks == null) {
+        List<byte[]> blocks = new ArrayList<>();
+        byte[] block;
+        do {
+          block = input.readNBytes(MAX_BLOCK_SIZE);
+          blocks.add(block);
+        } while (block.length == MAX_BLOCK_SIZE);
+        this.blocks = blocks;
+      }
+      return blocks;
+    }
+
+  }
+
+}
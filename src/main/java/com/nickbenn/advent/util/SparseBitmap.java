@@ -0,0 +1,532 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class SparseBitmap implements IntBitmap {
+
+  private static final int INITIAL_CAPACITY = 4;
+  private static final int LOW_BITS = 16;
+  private static final int LOW_MASK = (1 << LOW_BITS) - 1;
+  private static final int SIGN_FLIP = 1 << (LOW_BITS - 1);
+  private static final int ARRAY_MAX_SIZE = 1 << 12;
+  private static final int BITMAP_WORDS = (1 << LOW_BITS) / Long.SIZE;
+  private static final int BITMAP_BYTES = BITMAP_WORDS * Long.BYTES;
+
+  private char[] keys;
+  private Container[] containers;
+  private int size;
+
+  public SparseBitmap() {
+    this(new char[INITIAL_CAPACITY], new Container[INITIAL_CAPACITY], 0);
+  }
+
+  private SparseBitmap(char[] keys, Container[] containers, int size) {
+    this.keys = keys;
+    this.containers = containers;
+    this.size = size;
+  }
+
+  public static SparseBitmap of(int... values) {
+    SparseBitmap bitmap = new SparseBitmap();
+    for (int value : values) {
+      bitmap.add(value);
+    }
+    return bitmap;
+  }
+
+  public void add(int value) {
+    char key = highBits(value);
+    int index = Arrays.binarySearch(keys, 0, size, key);
+    if (index < 0) {
+      index = -index - 1;
+      insert(index, key, new ArrayContainer());
+    }
+    containers[index] = containers[index].add(lowBits(value));
+  }
+
+  public SparseBitmap runOptimize() {
+    for (int i = 0; i < size; i++) {
+      containers[i] = containers[i].optimize();
+    }
+    return this;
+  }
+
+  public long getSizeInBytes() {
+    long bytes = (long) size * (Character.BYTES + Integer.BYTES);
+    for (int i = 0; i < size; i++) {
+      bytes += containers[i].getSizeInBytes();
+    }
+    return bytes;
+  }
+
+  @Override
+  public boolean contains(int value) {
+    int index = Arrays.binarySearch(keys, 0, size, highBits(value));
+    return index >= 0 && containers[index].contains(lowBits(value));
+  }
+
+  @Override
+  public long cardinality() {
+    long cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += containers[i].cardinality();
+    }
+    return cardinality;
+  }
+
+  @Override
+  public IntBitmap union(IntBitmap other) {
+    SparseBitmap union;
+    if (other instanceof SparseBitmap) {
+      SparseBitmap bitmap = (SparseBitmap) other;
+      union = new SparseBitmap(
+          new char[size + bitmap.size], new Container[size + bitmap.size], 0);
+      int i = 0;
+      int j = 0;
+      while (i < size || j < bitmap.size) {
+        if (j == bitmap.size || (i < size && keys[i] < bitmap.keys[j])) {
+          union.append(keys[i], containers[i++].copy());
+        } else if (i == size || bitmap.keys[j] < keys[i]) {
+          union.append(bitmap.keys[j], bitmap.containers[j++].copy());
+        } else {
+          union.append(keys[i], containers[i++].or(bitmap.containers[j++]));
+        }
+      }
+    } else {
+      union = copy();
+      other.stream().forEach(union::add);
+    }
+    return union;
+  }
+
+  @Override
+  public IntBitmap intersection(IntBitmap other) {
+    SparseBitmap intersection;
+    if (other instanceof SparseBitmap) {
+      SparseBitmap bitmap = (SparseBitmap) other;
+      intersection = new SparseBitmap(new char[Math.max(1, Math.min(size, bitmap.size))],
+          new Container[Math.max(1, Math.min(size, bitmap.size))], 0);
+      int i = 0;
+      int j = 0;
+      while (i < size && j < bitmap.size) {
+        if (keys[i] < bitmap.keys[j]) {
+          i++;
+        } else if (bitmap.keys[j] < keys[i]) {
+          j++;
+        } else {
+          Container container = containers[i++].and(bitmap.containers[j++]);
+          if (container.cardinality() > 0) {
+            intersection.append(keys[i - 1], container);
+          }
+        }
+      }
+    } else {
+      intersection = new SparseBitmap();
+      stream().filter(other::contains).forEach(intersection::add);
+    }
+    return intersection;
+  }
+
+  @Override
+  public IntStream stream() {
+    return IntStream
+        .range(0, size)
+        .flatMap((index) -> {
+          int high = (keys[index] ^ SIGN_FLIP) << LOW_BITS;
+          return containers[index].stream().map((low) -> high | low);
+        });
+  }
+
+  private SparseBitmap copy() {
+    Container[] copies = new Container[Math.max(size, 1)];
+    for (int i = 0; i < size; i++) {
+      copies[i] = containers[i].copy();
+    }
+    return new SparseBitmap(Arrays.copyOf(keys, copies.length), copies, size);
+  }
+
+  private void insert(int index, char key, Container container) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, 2 * size);
+      containers = Arrays.copyOf(containers, 2 * size);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = container;
+    size++;
+  }
+
+  private void append(char key, Container container) {
+    insert(size, key, container);
+  }
+
+  private static char highBits(int value) {
+    return (char) ((value >>> LOW_BITS) ^ SIGN_FLIP);
+  }
+
+  private static char lowBits(int value) {
+    return (char) (value & LOW_MASK);
+  }
+
+  private abstract static class Container {
+
+    abstract boolean contains(char low);
+
+    abstract Container add(char low);
+
+    abstract int cardinality();
+
+    abstract void forEach(IntConsumer action);
+
+    abstract Container or(Container other);
+
+    abstract Container and(Container other);
+
+    abstract Container copy();
+
+    abstract int getSizeInBytes();
+
+    IntStream stream() {
+      IntStream.Builder builder = IntStream.builder();
+      forEach(builder);
+      return builder.build();
+    }
+
+    BitmapContainer toBitmap() {
+      BitmapContainer bitmap = new BitmapContainer();
+      forEach((low) -> bitmap.set((char) low));
+      return bitmap;
+    }
+
+    Container optimize() {
+      int cardinality = cardinality();
+      int[] state = {-2, 0};
+      forEach((low) -> {
+        if (low != state[0] + 1) {
+          state[1]++;
+        }
+        state[0] = low;
+      });
+      int runs = state[1];
+      int arrayBytes = cardinality * Character.BYTES;
+      int runBytes = runs * 2 * Character.BYTES;
+      Container optimized;
+      if (runBytes < Math.min(arrayBytes, BITMAP_BYTES)) {
+        optimized = (this instanceof RunContainer) ? this : RunContainer.of(this, runs);
+      } else if (cardinality <= ARRAY_MAX_SIZE) {
+        optimized = (this instanceof ArrayContainer) ? this : ArrayContainer.of(this);
+      } else {
+        optimized = (this instanceof BitmapContainer) ? this : toBitmap();
+      }
+      return optimized;
+    }
+
+  }
+
+  private static class ArrayContainer extends Container {
+
+    private char[] values;
+    private int size;
+
+    private ArrayContainer() {
+      this(new char[INITIAL_CAPACITY], 0);
+    }
+
+    private ArrayContainer(char[] values, int size) {
+      this.values = values;
+      this.size = size;
+    }
+
+    private static ArrayContainer of(Container container) {
+      char[] values = new char[Math.max(container.cardinality(), 1)];
+      int[] size = {0};
+      container.forEach((low) -> values[size[0]++] = (char) low);
+      return new ArrayContainer(values, size[0]);
+    }
+
+    @Override
+    boolean contains(char low) {
+      return Arrays.binarySearch(values, 0, size, low) >= 0;
+    }
+
+    @Override
+    Container add(char low) {
+      Container result = this;
+      int index = Arrays.binarySearch(values, 0, size, low);
+      if (index < 0) {
+        if (size == ARRAY_MAX_SIZE) {
+          result = toBitmap().add(low);
+        } else {
+          index = -index - 1;
+          if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(2 * size, ARRAY_MAX_SIZE));
+          }
+          System.arraycopy(values, index, values, index + 1, size - index);
+          values[index] = low;
+          size++;
+        }
+      }
+      return result;
+    }
+
+    @Override
+    int cardinality() {
+      return size;
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+      for (int i = 0; i < size; i++) {
+        action.accept(values[i]);
+      }
+    }
+
+    @Override
+    Container or(Container other) {
+      Container result;
+      if (other instanceof ArrayContainer) {
+        ArrayContainer array = (ArrayContainer) other;
+        char[] merged = new char[size + array.size];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < array.size) {
+          char next;
+          if (j == array.size || (i < size && values[i] < array.values[j])) {
+            next = values[i++];
+          } else if (i == size || array.values[j] < values[i]) {
+            next = array.values[j++];
+          } else {
+            next = values[i++];
+            j++;
+          }
+          merged[count++] = next;
+        }
+        ArrayContainer union = new ArrayContainer(merged, count);
+        result = (count > ARRAY_MAX_SIZE) ? union.toBitmap() : union;
+      } else {
+        result = other.or(this);
+      }
+      return result;
+    }
+
+    @Override
+    Container and(Container other) {
+      char[] common = new char[Math.max(size, 1)];
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+        if (other.contains(values[i])) {
+          common[count++] = values[i];
+        }
+      }
+      return new ArrayContainer(common, count);
+    }
+
+    @Override
+    Container copy() {
+      return new ArrayContainer(values.clone(), size);
+    }
+
+    @Override
+    int getSizeInBytes() {
+      return values.length * Character.BYTES;
+    }
+
+  }
+
+  private static class BitmapContainer extends Container {
+
+    private final long[] words;
+    private int cardinality;
+
+    private BitmapContainer() {
+      this(new long[BITMAP_WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    @Override
+    Container add(char low) {
+      set(low);
+      return this;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+      for (int i = 0; i < words.length; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          action.accept(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+        }
+      }
+    }
+
+    @Override
+    Container or(Container other) {
+      BitmapContainer union = (BitmapContainer) copy();
+      if (other instanceof BitmapContainer) {
+        long[] otherWords = ((BitmapContainer) other).words;
+        int cardinality = 0;
+        for (int i = 0; i < union.words.length; i++) {
+          union.words[i] |= otherWords[i];
+          cardinality += Long.bitCount(union.words[i]);
+        }
+        union.cardinality = cardinality;
+      } else {
+        other.forEach((low) -> union.set((char) low));
+      }
+      return union;
+    }
+
+    @Override
+    Container and(Container other) {
+      Container result;
+      if (other instanceof BitmapContainer) {
+        long[] otherWords = ((BitmapContainer) other).words;
+        long[] common = new long[BITMAP_WORDS];
+        int cardinality = 0;
+        for (int i = 0; i < common.length; i++) {
+          common[i] = words[i] & otherWords[i];
+          cardinality += Long.bitCount(common[i]);
+        }
+        BitmapContainer intersection = new BitmapContainer(common, cardinality);
+        result = (cardinality <= ARRAY_MAX_SIZE) ? ArrayContainer.of(intersection) : intersection;
+      } else {
+        result = other.and(this);
+      }
+      return result;
+    }
+
+    @Override
+    Container copy() {
+      return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    int getSizeInBytes() {
+      return BITMAP_BYTES;
+    }
+
+    private void set(char low) {
+      long mask = 1L << low;
+      int index = low >>> 6;
+      if ((words[index] & mask) == 0) {
+        words[index] |= mask;
+        cardinality++;
+      }
+    }
+
+  }
+
+  private static class RunContainer extends Container {
+
+    private final char[] starts;
+    private final char[] lengths;
+
+    private RunContainer(char[] starts, char[] lengths) {
+      this.starts = starts;
+      this.lengths = lengths;
+    }
+
+    private static RunContainer of(Container container, int runs) {
+      char[] starts = new char[runs];
+      char[] lengths = new char[runs];
+      int[] state = {-2, -1};
+      container.forEach((low) -> {
+        if (low != state[0] + 1) {
+          starts[++state[1]] = (char) low;
+        } else {
+          lengths[state[1]]++;
+        }
+        state[0] = low;
+      });
+      return new RunContainer(starts, lengths);
+    }
+
+    @Override
+    boolean contains(char low) {
+      int index = Arrays.binarySearch(starts, low);
+      if (index < 0) {
+        index = -index - 2;
+      }
+      return index >= 0 && low - starts[index] <= lengths[index];
+    }
+
+    @Override
+    Container add(char low) {
+      return contains(low) ? this : toBitmap().add(low).optimize();
+    }
+
+    @Override
+    int cardinality() {
+      int cardinality = 0;
+      for (int i = 0; i < starts.length; i++) {
+        cardinality += lengths[i] + 1;
+      }
+      return cardinality;
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+      for (int i = 0; i < starts.length; i++) {
+        for (int low = starts[i], end = low + lengths[i]; low <= end; low++) {
+          action.accept(low);
+        }
+      }
+    }
+
+    @Override
+    Container or(Container other) {
+      return toBitmap().or(other).optimize();
+    }
+
+    @Override
+    Container and(Container other) {
+      return (other instanceof ArrayContainer)
+          ? other.and(this)
+          : toBitmap().and(other).optimize();
+    }
+
+    @Override
+    Container copy() {
+      return this;
+    }
+
+    @Override
+    int getSizeInBytes() {
+      return 2 * starts.length * Character.BYTES;
+    }
+
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.advent.util.Defaults;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DaemonTest {
+
+  private ExecutorService executor;
+  private Daemon daemon;
+  private HttpClient client;
+
+  @BeforeEach
+  void setUp() throws URISyntaxException, IOException {
+    executor = Executors.newFixedThreadPool(2);
+    Path inputRoot = testInput(1).getParent().getParent();
+    daemon = new Daemon(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor, 16, inputRoot);
+    daemon.start();
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  void tearDown() {
+    daemon.stop();
+    executor.shutdown();
+  }
+
+  @Test
+  void solve_body() throws URISyntaxException, IOException, InterruptedException {
+    byte[] input = Files.readAllBytes(testInput(1));
+    for (int i = 0; i < 2; i++) {
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(endpoint("day=1&part=2"))
+              .POST(HttpRequest.BodyPublishers.ofByteArray(input))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertEquals(200, response.statusCode());
+      assertEquals("5", response.body().trim());
+    }
+    assertEquals(1, daemon.getCacheHits());
+  }
+
+  @Test
+  void solve_path() throws URISyntaxException, IOException, InterruptedException {
+    HttpResponse<String> response = client.send(
+        HttpRequest.newBuilder(endpoint("day=6&part=2&path=" + testInput(6).toUri().getPath()))
+            .GET()
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode());
+    assertEquals("26984457539", response.body().trim());
+    assertEquals(26984457539L, daemon.solve(6, 2, Files.readAllBytes(testInput(6))));
+    assertEquals(1, daemon.getCacheHits());
+  }
+
+  @Test
+  void solve_pathRelative() throws URISyntaxException, IOException, InterruptedException {
+    HttpResponse<String> response = client.send(
+        HttpRequest.newBuilder(endpoint("day=6&part=2&path=day6/" + Defaults.TEST_FILENAME))
+            .GET()
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode());
+    assertEquals("26984457539", response.body().trim());
+  }
+
+  @Test
+  void solve_pathChanged(@TempDir Path directory) throws URISyntaxException, IOException {
+    byte[] original = "3,4,3,1,2\n".getBytes(StandardCharsets.US_ASCII);
+    byte[] changed = "1\n".getBytes(StandardCharsets.US_ASCII);
+    Path inputRoot = directory.toRealPath();
+    Path input = Files.write(inputRoot.resolve("input.txt"), original);
+    Daemon daemon = new Daemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        executor, 16, inputRoot);
+    assertEquals(26984457539L, daemon.solve(6, 2, input));
+    Files.write(input, changed);
+    assertEquals(daemon.solve(6, 2, changed), daemon.solve(6, 2, input));
+    assertEquals(26984457539L, daemon.solve(6, 2, original));
+    assertEquals(2, daemon.getCacheHits());
+  }
+
+  @Test
+  void solve_pathOutsideRoot() throws URISyntaxException, IOException, InterruptedException {
+    for (String path : new String[]{"../../../../..", "day6/../../../../../x"}) {
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(endpoint("day=1&part=1&path=" + path)).GET().build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertEquals(403, response.statusCode());
+    }
+    assertThrows(AccessDeniedException.class, () -> daemon.solve(1, 1, Path.of("/etc/hosts")));
+  }
+
+  @Test
+  void solve_badRequest() throws URISyntaxException, IOException, InterruptedException {
+    HttpResponse<String> response = client.send(
+        HttpRequest.newBuilder(endpoint("day=42&part=1&path=unused")).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+    assertEquals(400, response.statusCode());
+  }
+
+  @Test
+  void solve_missingFile() throws URISyntaxException, IOException, InterruptedException {
+    HttpResponse<String> response = client.send(
+        HttpRequest.newBuilder(endpoint("day=1&part=1&path=no/such/file.txt")).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+    assertEquals(404, response.statusCode());
+  }
+
+  private URI endpoint(String query) throws URISyntaxException {
+    InetSocketAddress address = daemon.getAddress();
+    return new URI("http", null, address.getHostString(), address.getPort(),
+        Daemon.CONTEXT_PATH, query, null);
+  }
+
+  private Path testInput(int day) throws URISyntaxException {
+    //noinspection ConstantConditions
+    return Path.of(Runner.loadProviders().get(day - 1).getClass()
+        .getResource(Defaults.TEST_FILENAME).toURI());
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.advent.Runner.Report;
+import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.Parser;
+import com.nickbenn.advent.util.PuzzleProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class RunnerTest {
+
+  @Test
+  void loadProviders() {
+    List<Integer> expected = IntStream.rangeClosed(1, 7).boxed().collect(Collectors.toList());
+    List<Integer> actual = Runner
+        .loadProviders()
+        .stream()
+        .map(PuzzleProvider::getDay)
+        .collect(Collectors.toList());
+    assertEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1, 7, 5",
+      "2, 150, 900",
+      "3, 198, 230",
+      "4, 4512, 1924",
+      "5, 5, 12",
+      "6, 5934, 26984457539",
+      "7, 37, 168"
+  })
+  void run(int day, long part1, long part2) throws URISyntaxException, IOException {
+    PuzzleProvider provider = Runner.loadProviders().get(day - 1);
+    //noinspection ConstantConditions
+    Parser.Builder builder =
+        new Parser.Builder(provider.getClass().getResource(Defaults.TEST_FILENAME).toURI());
+    Report report = Runner.run(provider, builder, 0);
+    assertEquals(day, report.getDay());
+    assertEquals(part1, report.getPart1());
+    assertEquals(part2, report.getPart2());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1, 7, 5",
+      "2, 150, 900",
+      "3, 198, 230",
+      "4, 4512, 1924",
+      "5, 5, 12",
+      "6, 5934, 26984457539",
+      "7, 37, 168"
+  })
+  void run_gzipped(int day, long part1, long part2, @TempDir Path directory)
+      throws URISyntaxException, IOException {
+    PuzzleProvider provider = Runner.loadProviders().get(day - 1);
+    Path path = directory.resolve(Defaults.TEST_FILENAME + ".gz");
+    try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(path))) {
+      //noinspection ConstantConditions
+      Files.copy(Path.of(provider.getClass().getResource(Defaults.TEST_FILENAME).toURI()), output);
+    }
+    Report report = Runner.run(provider, new Parser.Builder(path.toUri()), Files.size(path));
+    assertEquals(part1, report.getPart1());
+    assertEquals(part2, report.getPart2());
+  }
+
+}
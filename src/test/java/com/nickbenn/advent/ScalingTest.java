@@ -0,0 +1,248 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.advent.day1.SonarSweep;
+import com.nickbenn.advent.day2.Dive;
+import com.nickbenn.advent.day3.BinaryDiagnostic;
+import com.nickbenn.advent.day4.GiantSquid;
+import com.nickbenn.advent.day5.HydrothermalVenture;
+import com.nickbenn.advent.day5.HydrothermalVenture.Pair;
+import com.nickbenn.advent.day6.Lanternfish;
+import com.nickbenn.advent.day7.WhaleTreachery;
+import com.nickbenn.advent.util.InputGenerator;
+import com.nickbenn.advent.util.Parser;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("scaling")
+class ScalingTest {
+
+  private static final int[] SIZES = {125_000, 250_000, 500_000, 1_000_000};
+  private static final int[] RANGE_SIZES = {15_625, 31_250, 62_500, 125_000};
+  private static final int RANGE_DIVISOR = 32;
+  private static final int REPETITIONS = 3;
+  private static final double LINEAR = 1;
+  private static final double QUADRATIC = 2;
+  private static final double TOLERANCE = 0.35;
+  private static final int BIT_COUNT = 12;
+  private static final int BINGO_SIZE_DIVISOR = 50;
+  private static final long HEAP_FLOOR = 1 << 20;
+
+  private final InputGenerator generator = new InputGenerator();
+
+  @Test
+  void sonarSweep() throws Exception {
+    assertScaling(generator::sonarSweep, (path) -> {
+      SonarSweep sweep = new SonarSweep(builder(path));
+      sweep.countMovingSumIncreases(1);
+      sweep.countMovingSumIncreases(3);
+      return sweep;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void dive() throws Exception {
+    assertScaling(generator::dive, (path) -> {
+      Dive dive = new Dive(builder(path));
+      dive.positionDotProduct();
+      dive.positionDotProductAim();
+      return dive;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void binaryDiagnostic() throws Exception {
+    assertScaling((size) -> generator.binaryDiagnostic(size, BIT_COUNT), (path) -> {
+      BinaryDiagnostic diagnostic = new BinaryDiagnostic(builder(path));
+      diagnostic.gammaEpsilonProduct();
+      diagnostic.generatorScrubberProduct();
+      return diagnostic;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void giantSquid() throws Exception {
+    assertScaling((size) -> generator.giantSquid(size / BINGO_SIZE_DIVISOR), (path) -> {
+      GiantSquid squid = new GiantSquid(builder(path));
+      squid.getFirstWinningScore();
+      squid.getLastWinningScore();
+      return squid;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void hydrothermalVenture() throws Exception {
+    // The overlap grid is sized by the coordinate range, which the default generator holds fixed;
+    // hydrothermalVenture_growingRange covers the range.
+    assertScaling(generator::hydrothermalVenture, (path) -> {
+      HydrothermalVenture venture = new HydrothermalVenture(builder(path));
+      venture.countOverlaps(Pair::isRectilinear);
+      venture.countOverlaps((pair) -> true);
+      return venture;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void hydrothermalVenture_growingRange() throws Exception {
+    // With the range growing as n, the grid allocates range^2 cells and each segment walks up to
+    // range cells, so both allocation and runtime grow as n^2.
+    assertScaling(RANGE_SIZES,
+        (size) -> generator.hydrothermalVenture(size, size / RANGE_DIVISOR), (path) -> {
+          HydrothermalVenture venture = new HydrothermalVenture(builder(path));
+          venture.countOverlaps(Pair::isRectilinear);
+          venture.countOverlaps((pair) -> true);
+          return venture;
+        }, QUADRATIC, LINEAR, QUADRATIC);
+  }
+
+  @Test
+  void lanternfish() throws Exception {
+    assertScaling(generator::lanternfish, (path) -> {
+      Lanternfish lanternfish = new Lanternfish(builder(path));
+      lanternfish.count(256);
+      return lanternfish;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void whaleTreachery() throws Exception {
+    // The triangular search is bounded by the position range, which the default generator holds
+    // fixed; the remaining cost is the O(n log n) sort. whaleTreachery_growingRange covers the
+    // range.
+    assertScaling(generator::whaleTreachery, (path) -> {
+      WhaleTreachery treachery = new WhaleTreachery(builder(path));
+      treachery.getLinearFuelCost();
+      treachery.getTriangularFuelCost();
+      return treachery;
+    }, LINEAR, LINEAR);
+  }
+
+  @Test
+  void whaleTreachery_growingRange() throws Exception {
+    // Each candidate position in the triangular search costs a pass over all n crabs, and the
+    // number of candidates grows with the range, so runtime is bounded by n * range.
+    assertScaling(RANGE_SIZES,
+        (size) -> generator.whaleTreachery(size, size / RANGE_DIVISOR), (path) -> {
+          WhaleTreachery treachery = new WhaleTreachery(builder(path));
+          treachery.getLinearFuelCost();
+          treachery.getTriangularFuelCost();
+          return treachery;
+        }, QUADRATIC, LINEAR, LINEAR);
+  }
+
+  private void assertScaling(Generator generator, Solver solver,
+      double timeExponentBound, double heapExponentBound) throws Exception {
+    assertScaling(SIZES, generator, solver, timeExponentBound, heapExponentBound,
+        heapExponentBound);
+  }
+
+  private void assertScaling(int[] sizes, Generator generator, Solver solver,
+      double timeExponentBound, double heapExponentBound, double allocationExponentBound)
+      throws Exception {
+    double[] logSizes = new double[sizes.length];
+    double[] logTimes = new double[sizes.length];
+    double[] logHeaps = new double[sizes.length];
+    double[] logAllocations = new double[sizes.length];
+    for (int i = 0; i < sizes.length; i++) {
+      Path path = generator.generate(sizes[i]);
+      try {
+        solver.solve(path);
+        long bestTime = Long.MAX_VALUE;
+        for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+          long start = System.nanoTime();
+          solver.solve(path);
+          bestTime = Math.min(bestTime, System.nanoTime() - start);
+        }
+        logSizes[i] = Math.log(sizes[i]);
+        logTimes[i] = Math.log(bestTime);
+        logHeaps[i] = Math.log(Math.max(HEAP_FLOOR, retainedHeap(solver, path)));
+        logAllocations[i] = Math.log(Math.max(HEAP_FLOOR, allocatedHeap(solver, path)));
+      } finally {
+        Files.deleteIfExists(path);
+      }
+    }
+    double timeExponent = slope(logSizes, logTimes);
+    double heapExponent = slope(logSizes, logHeaps);
+    double allocationExponent = slope(logSizes, logAllocations);
+    assertTrue(timeExponent <= timeExponentBound + TOLERANCE, () -> String.format(
+        "Runtime grows as n^%.2f; bound is n^%.2f", timeExponent, timeExponentBound));
+    assertTrue(heapExponent <= heapExponentBound + TOLERANCE, () -> String.format(
+        "Retained heap grows as n^%.2f; bound is n^%.2f", heapExponent, heapExponentBound));
+    assertTrue(allocationExponent <= allocationExponentBound + TOLERANCE, () -> String.format(
+        "Allocated heap grows as n^%.2f; bound is n^%.2f",
+        allocationExponent, allocationExponentBound));
+  }
+
+  private static long retainedHeap(Solver solver, Path path) throws Exception {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    System.gc();
+    long baseline = memory.getHeapMemoryUsage().getUsed();
+    Object result = solver.solve(path);
+    System.gc();
+    long retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+    assertNotNull(result);
+    return retained;
+  }
+
+  private static long allocatedHeap(Solver solver, Path path) throws Exception {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long baseline = threads.getThreadAllocatedBytes(threadId);
+    assertNotNull(solver.solve(path));
+    return threads.getThreadAllocatedBytes(threadId) - baseline;
+  }
+
+  private static double slope(double[] x, double[] y) {
+    double meanX = 0;
+    double meanY = 0;
+    for (int i = 0; i < x.length; i++) {
+      meanX += x[i] / x.length;
+      meanY += y[i] / y.length;
+    }
+    double covariance = 0;
+    double variance = 0;
+    for (int i = 0; i < x.length; i++) {
+      covariance += (x[i] - meanX) * (y[i] - meanY);
+      variance += (x[i] - meanX) * (x[i] - meanX);
+    }
+    return covariance / variance;
+  }
+
+  private static Parser.Builder builder(Path path) {
+    return new Parser.Builder(path.toUri());
+  }
+
+  private interface Generator {
+
+    Path generate(int size) throws Exception;
+
+  }
+
+  private interface Solver {
+
+    Object solve(Path path) throws Exception;
+
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day1;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IncreaseKernelTest {
+
+  @Test
+  void best() {
+    boolean vectorAvailable = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    assertEquals(vectorAvailable, IncreaseKernel.BEST != IncreaseKernel.SCALAR);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, 8, 9, 17, 100})
+  void count(int window) {
+    Random rng = new Random(2021 + window);
+    int[] data = rng.ints(10_000).toArray();
+    data[5_000] = Integer.MIN_VALUE;
+    data[5_001] = Integer.MAX_VALUE;
+    for (int[] range : new int[][]{{0, data.length}, {0, 5}, {13, 4_099}, {window, window + 1}}) {
+      int expected = 0;
+      for (int i = Math.max(range[0], window); i < range[1]; i++) {
+        if (data[i] > data[i - window]) {
+          expected++;
+        }
+      }
+      assertEquals(expected, IncreaseKernel.SCALAR.count(data, window, range[0], range[1]));
+      assertEquals(expected, IncreaseKernel.BEST.count(data, window, range[0], range[1]));
+    }
+  }
+
+}
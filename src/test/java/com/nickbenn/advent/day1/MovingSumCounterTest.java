@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day1;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MovingSumCounterTest {
+
+  private static final long[] SAMPLES = {199, 200, 208, 210, 200, 207, 240, 269, 260, 263};
+
+  @ParameterizedTest
+  @CsvSource({"1, 7", "3, 5", "10, 0"})
+  void accept(int window, long expected) {
+    MovingSumCounter counter = new MovingSumCounter(window);
+    LongStream.of(SAMPLES).forEach(counter);
+    assertEquals(SAMPLES.length, counter.getCount());
+    assertEquals(expected, counter.getIncreases());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 7", "3, 5", "10, 0"})
+  void accept_batch(int window, long expected) {
+    MovingSumCounter counter = new MovingSumCounter(window);
+    int[] values = LongStream.of(SAMPLES).mapToInt((value) -> (int) value).toArray();
+    counter.accept(values, 4);
+    counter.accept(Arrays.copyOfRange(values, 4, values.length), values.length - 4);
+    assertEquals(SAMPLES.length, counter.getCount());
+    assertEquals(expected, counter.getIncreases());
+  }
+
+  @Test
+  void accept_unbounded() {
+    MovingSumCounter counter = new MovingSumCounter(3);
+    LongStream.iterate(Long.MAX_VALUE / 2, (value) -> value + 1)
+        .limit(1_000)
+        .peek((value) -> assertEquals(Math.max(0, counter.getCount() - 3),
+            counter.getIncreases()))
+        .forEach(counter);
+    assertEquals(997, counter.getIncreases());
+  }
+
+  @Test
+  void getSnapshot_concurrent() throws InterruptedException {
+    MovingSumCounter counter = new MovingSumCounter(1);
+    Thread writer = new Thread(() -> LongStream.range(0, 20_000_000).forEach(counter));
+    writer.start();
+    try {
+      long count;
+      do {
+        MovingSumCounter.Snapshot snapshot = counter.getSnapshot();
+        count = snapshot.getCount();
+        assertEquals(Math.max(0, count - 1), snapshot.getIncreases());
+      } while (count < 20_000_000);
+    } finally {
+      writer.join();
+    }
+  }
+
+  @Test
+  void window_invalid() {
+    assertThrows(IllegalArgumentException.class, () -> new MovingSumCounter(0));
+  }
+
+}
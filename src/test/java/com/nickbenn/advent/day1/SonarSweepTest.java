@@ -17,11 +17,21 @@ package com.nickbenn.advent.day1;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.nickbenn.advent.util.Parser;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class SonarSweepTest {
 
@@ -33,4 +43,55 @@ class SonarSweepTest {
     assertEquals(expected, sweep.countMovingSumIncreases(window));
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"test.txt", "input.txt"})
+  void countMovingSumIncreases_multiple(String filename) throws IOException, URISyntaxException {
+    SonarSweep sweep = new SonarSweep(filename);
+    int[] windows = {3, 1, 2, 10, 3};
+    int[] expected = Arrays.stream(windows).map(sweep::countMovingSumIncreases).toArray();
+    assertArrayEquals(expected, sweep.countMovingSumIncreases(windows));
+    assertArrayEquals(new int[]{0}, sweep.countMovingSumIncreases(new int[]{Integer.MAX_VALUE}));
+    assertThrows(IllegalArgumentException.class, () -> sweep.countMovingSumIncreases(1, 0));
+  }
+
+  @Test
+  void countMovingSumIncreases_parallel() throws IOException, URISyntaxException {
+    Random rng = new Random(2021);
+    String input = IntStream.range(0, 500_000)
+        .mapToObj((i) -> String.valueOf(rng.nextInt(10_000)))
+        .collect(Collectors.joining("\n"));
+    SonarSweep sweep = new SonarSweep(
+        new Parser.Builder(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int window : new int[]{1, 3, 10}) {
+        assertEquals(sweep.countMovingSumIncreases(window),
+            sweep.countMovingSumIncreases(window, pool));
+      }
+      assertThrows(IllegalArgumentException.class, () -> sweep.countMovingSumIncreases(0, pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @ParameterizedTest
+  @CsvFileSource(resources = "cases.csv", numLinesToSkip = 1)
+  void countMovingSumIncreases_pipelined(String filename, int window, int expected)
+      throws IOException, URISyntaxException {
+    //noinspection ConstantConditions
+    Parser.Builder builder = new Parser.Builder(SonarSweep.class.getResource(filename).toURI());
+    assertEquals(expected, SonarSweep.countMovingSumIncreases(builder, window));
+  }
+
+  @ParameterizedTest
+  @CsvFileSource(resources = "cases.csv", numLinesToSkip = 1)
+  void countMovingSumIncreases_stream(String filename, int window, int expected)
+      throws IOException, URISyntaxException {
+    //noinspection ConstantConditions
+    Parser parser = new Parser.Builder(SonarSweep.class.getResource(filename).toURI()).build();
+    try (LongStream samples = parser.longStream()) {
+      assertEquals(expected, SonarSweep.countMovingSumIncreases(samples, window));
+    }
+  }
+
 }
\ No newline at end of file
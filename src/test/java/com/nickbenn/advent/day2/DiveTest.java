@@ -18,9 +18,17 @@ package com.nickbenn.advent.day2;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.Parser;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class DiveTest {
 
@@ -36,4 +44,60 @@ class DiveTest {
     assertEquals(900, dive.positionDotProductAim());
   }
 
+  @Test
+  void positionDotProducts() throws URISyntaxException, IOException {
+    Dive dive = new Dive(Defaults.TEST_FILENAME);
+    assertArrayEquals(new long[]{150, 900}, dive.positionDotProducts());
+  }
+
+  @Test
+  void positionDotProduct_pipelined() throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Parser.Builder builder =
+        new Parser.Builder(Dive.class.getResource(Defaults.TEST_FILENAME).toURI());
+    assertEquals(150, Dive.positionDotProduct(builder));
+  }
+
+  @Test
+  void positionDotProductAim_pipelined() throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Parser.Builder builder =
+        new Parser.Builder(Dive.class.getResource(Defaults.TEST_FILENAME).toURI());
+    assertEquals(900, Dive.positionDotProductAim(builder));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {10, Integer.MAX_VALUE})
+  void positionDotProductAim_parallel(int maxSteps) throws URISyntaxException, IOException {
+    Random rng = new Random(2021);
+    String[] keywords = {"forward", "down", "up"};
+    int[] commands = rng.ints(300_000, 0, keywords.length).toArray();
+    int[] steps = rng.ints(commands.length, 0, maxSteps).toArray();
+    BigInteger horizontal = BigInteger.ZERO;
+    BigInteger aim = BigInteger.ZERO;
+    BigInteger depth = BigInteger.ZERO;
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < commands.length; i++) {
+      BigInteger step = BigInteger.valueOf(steps[i]);
+      if (commands[i] == 0) {
+        horizontal = horizontal.add(step);
+        depth = depth.add(aim.multiply(step));
+      } else {
+        aim = (commands[i] == 1) ? aim.add(step) : aim.subtract(step);
+      }
+      input.append(keywords[commands[i]]).append(' ').append(steps[i]).append('\n');
+    }
+    BigInteger expected = horizontal.multiply(depth);
+    Dive dive = new Dive(new Parser.Builder(
+        new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII))));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertEquals(dive.positionDotProductAim(), dive.positionDotProductAim(pool));
+      assertEquals(expected.longValue(), dive.positionDotProductAim(pool));
+      assertEquals(expected, dive.positionDotProductAimExact(pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
 }
\ No newline at end of file
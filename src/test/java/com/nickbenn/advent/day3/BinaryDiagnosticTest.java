@@ -18,9 +18,20 @@ package com.nickbenn.advent.day3;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.Parser;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class BinaryDiagnosticTest {
 
@@ -30,10 +41,161 @@ class BinaryDiagnosticTest {
     assertEquals(198, diagnostic.gammaEpsilonProduct());
   }
 
+  @Test
+  void gammaEpsilonProduct_sliced() throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Parser.Builder builder =
+        new Parser.Builder(BinaryDiagnostic.class.getResource(Defaults.TEST_FILENAME).toURI());
+    assertEquals(198, new BinaryDiagnostic(builder, true).gammaEpsilonProduct());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 63, 64, 1_000})
+  void gammaEpsilonProduct_slicedRandom(int size) throws URISyntaxException, IOException {
+    Random rng = new Random(2021 + size);
+    String input = rng.ints(size, 0, 1 << 30)
+        .mapToObj((value) -> String.format("%30s", Integer.toBinaryString(value))
+            .replace(' ', '0'))
+        .collect(Collectors.joining("\n"));
+    byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+    BinaryDiagnostic expected =
+        new BinaryDiagnostic(new Parser.Builder(new ByteArrayInputStream(bytes)));
+    BinaryDiagnostic sliced =
+        new BinaryDiagnostic(new Parser.Builder(new ByteArrayInputStream(bytes)), true);
+    assertEquals(expected.gammaEpsilonProduct(), sliced.gammaEpsilonProduct());
+  }
+
+  @Test
+  void gammaEpsilonProduct_pipelined() throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Parser.Builder builder =
+        new Parser.Builder(BinaryDiagnostic.class.getResource(Defaults.TEST_FILENAME).toURI());
+    assertEquals(198, BinaryDiagnostic.gammaEpsilonProduct(builder));
+  }
+
+  @Test
+  void gammaEpsilonProduct_raggedWidths() throws URISyntaxException, IOException {
+    byte[] bytes = "101\n11011\n10110\n".getBytes(StandardCharsets.US_ASCII);
+    BinaryDiagnostic diagnostic =
+        new BinaryDiagnostic(new Parser.Builder(new ByteArrayInputStream(bytes)));
+    assertEquals(5, diagnostic.getBitCount());
+    assertEquals(0b10111L * 0b01000L, diagnostic.gammaEpsilonProduct());
+    assertEquals(0b10111L * 0b01000L,
+        BinaryDiagnostic.gammaEpsilonProduct(new Parser.Builder(new ByteArrayInputStream(bytes))));
+  }
+
   @Test
   void generatorScrubberProduct() throws URISyntaxException, IOException {
     BinaryDiagnostic diagnostic = new BinaryDiagnostic(Defaults.TEST_FILENAME);
     assertEquals(230, diagnostic.generatorScrubberProduct());
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 5, 12, 20})
+  void generatorScrubberProduct_random(int bitCount) throws URISyntaxException, IOException {
+    Random rng = new Random(2021 + bitCount);
+    int[] data = rng.ints(1_000, 0, 1 << bitCount).distinct().toArray();
+    String input = IntStream.of(data)
+        .mapToObj((value) -> String.format("%" + bitCount + "s", Integer.toBinaryString(value))
+            .replace(' ', '0'))
+        .collect(Collectors.joining("\n"));
+    BinaryDiagnostic diagnostic = new BinaryDiagnostic(
+        new Parser.Builder(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))));
+    long expected = (long) rating(data, bitCount, true) * rating(data, bitCount, false);
+    assertEquals(expected, diagnostic.generatorScrubberProduct());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {32, 64, 65, 200, 4096})
+  void wide(int bitCount) throws URISyntaxException, IOException {
+    Random rng = new Random(2021 + bitCount);
+    List<BigInteger> data = rng.ints(500)
+        .mapToObj((i) -> new BigInteger(bitCount, rng))
+        .distinct()
+        .collect(Collectors.toList());
+    String input = data.stream()
+        .map((value) -> String.format("%" + bitCount + "s", value.toString(2)).replace(' ', '0'))
+        .collect(Collectors.joining("\n"));
+    BigInteger gamma = BigInteger.ZERO;
+    BigInteger epsilon = BigInteger.ZERO;
+    for (int position = 0; position < bitCount; position++) {
+      int bit = position;
+      long ones = data.stream().filter((value) -> value.testBit(bit)).count();
+      if (2 * ones > data.size()) {
+        gamma = gamma.setBit(position);
+      } else {
+        epsilon = epsilon.setBit(position);
+      }
+    }
+    BigInteger ratings = rating(data, bitCount, true).multiply(rating(data, bitCount, false));
+    byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+    for (boolean sliced : new boolean[]{false, true}) {
+      BinaryDiagnostic diagnostic =
+          new BinaryDiagnostic(new Parser.Builder(new ByteArrayInputStream(bytes)), sliced);
+      assertEquals(bitCount, diagnostic.getBitCount());
+      assertEquals(gamma.multiply(epsilon), diagnostic.gammaEpsilonProductExact());
+      assertEquals(ratings, diagnostic.generatorScrubberProductExact());
+      if (gamma.multiply(epsilon).bitLength() < Long.SIZE) {
+        assertEquals(gamma.multiply(epsilon).longValue(), diagnostic.gammaEpsilonProduct());
+      } else {
+        assertThrows(ArithmeticException.class, diagnostic::gammaEpsilonProduct);
+      }
+    }
+  }
+
+  @Test
+  void wide_blankLines() throws URISyntaxException, IOException {
+    String first = "1".repeat(40);
+    String second = "0".repeat(39) + "1";
+    byte[] bytes = (first + "\n\n  " + second + "  \n\n").getBytes(StandardCharsets.US_ASCII);
+    BinaryDiagnostic diagnostic =
+        new BinaryDiagnostic(new Parser.Builder(new ByteArrayInputStream(bytes)));
+    assertEquals(40, diagnostic.getBitCount());
+    assertEquals(new BigInteger(first, 2).multiply(new BigInteger(second, 2)),
+        diagnostic.generatorScrubberProductExact());
+  }
+
+  @Test
+  void wide_invalidDigit() {
+    byte[] bytes = ("0".repeat(40) + "\n" + "0".repeat(20) + "2" + "1".repeat(19) + "\n")
+        .getBytes(StandardCharsets.US_ASCII);
+    assertThrows(NumberFormatException.class,
+        () -> new BinaryDiagnostic(new Parser.Builder(new ByteArrayInputStream(bytes))));
+  }
+
+  @Test
+  void gammaEpsilonProductExact_narrow() throws URISyntaxException, IOException {
+    BinaryDiagnostic diagnostic = new BinaryDiagnostic(Defaults.TEST_FILENAME);
+    assertEquals(BigInteger.valueOf(198), diagnostic.gammaEpsilonProductExact());
+    assertEquals(BigInteger.valueOf(230), diagnostic.generatorScrubberProductExact());
+  }
+
+  private static BigInteger rating(List<BigInteger> data, int bitCount, boolean mostCommon) {
+    List<BigInteger> remaining = new ArrayList<>(data);
+    for (int position = bitCount - 1; position >= 0 && remaining.size() > 1; position--) {
+      int bit = position;
+      long ones = remaining.stream().filter((value) -> value.testBit(bit)).count();
+      long zeros = remaining.size() - ones;
+      boolean keepOnes = (ones == 0 || zeros == 0) ? ones > 0 : (ones >= zeros) == mostCommon;
+      remaining.removeIf((value) -> value.testBit(bit) != keepOnes);
+    }
+    return remaining.get(0);
+  }
+
+  private static int rating(int[] data, int bitCount, boolean mostCommon) {
+    List<Integer> remaining = IntStream.of(data).boxed().collect(Collectors.toList());
+    for (int position = bitCount - 1; position >= 0 && remaining.size() > 1; position--) {
+      int mask = 1 << position;
+      long ones = remaining.stream().filter((value) -> (value & mask) != 0).count();
+      long zeros = remaining.size() - ones;
+      boolean keepOnes = (ones >= zeros) == mostCommon;
+      if (ones == 0 || zeros == 0) {
+        keepOnes = (ones > 0);
+      }
+      boolean keep = keepOnes;
+      remaining.removeIf((value) -> ((value & mask) != 0) != keep);
+    }
+    return remaining.get(0);
+  }
+
 }
\ No newline at end of file
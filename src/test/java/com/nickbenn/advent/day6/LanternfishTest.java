@@ -18,6 +18,7 @@ package com.nickbenn.advent.day6;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import org.junit.jupiter.api.Test;
@@ -34,4 +35,13 @@ class LanternfishTest {
     assertEquals(expected, lanternfish.count(generations));
   }
 
+  @ParameterizedTest
+  @CsvFileSource(resources = "cases.csv", numLinesToSkip = 1)
+  void count_pipelined(String filename, int generations, long expected)
+      throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Parser.Builder builder = new Parser.Builder(Lanternfish.class.getResource(filename).toURI());
+    assertEquals(expected, Lanternfish.count(builder, generations));
+  }
+
 }
\ No newline at end of file
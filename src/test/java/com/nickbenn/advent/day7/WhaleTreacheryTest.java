@@ -16,8 +16,10 @@
 package com.nickbenn.advent.day7;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import org.junit.jupiter.api.Test;
@@ -36,4 +38,13 @@ class WhaleTreacheryTest {
     assertEquals(168, treachery.getTriangularFuelCost());
   }
 
-}
\ No newline at end of file
+  @Test
+  void construct_leavesBuilderUnchanged() throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Parser.Builder builder =
+        new Parser.Builder(WhaleTreachery.class.getResource(Defaults.TEST_FILENAME).toURI());
+    assertEquals(37, new WhaleTreachery(builder).getLinearFuelCost());
+    assertThrows(NumberFormatException.class, () -> builder.build().intArray());
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class BitMatrixTest {
+
+  @Test
+  void add() {
+    BitMatrix matrix = matrix(" 101 \n\n11011\r\n", true, true);
+    assertEquals(5, matrix.getWidth());
+    assertEquals(2, matrix.getHeight());
+    assertEquals(0b101, matrix.getWord(0, 0));
+    assertEquals(0b11011, matrix.getWord(1, 0));
+  }
+
+  @Test
+  void add_notStripped() {
+    assertThrows(NumberFormatException.class, () -> matrix("101\n\n110\n", true, false));
+  }
+
+  @Test
+  void add_invalidDigit() {
+    assertThrows(NumberFormatException.class, () -> matrix("101\n121\n", true, true));
+  }
+
+  @Test
+  void add_wide() {
+    String wide = "1" + "0".repeat(69) + "1";
+    BitMatrix matrix = matrix("11\n" + wide + "\n", true, true);
+    assertEquals(71, matrix.getWidth());
+    assertEquals(2, matrix.getRowLength());
+    assertEquals(0b11, matrix.getWord(0, 0));
+    assertEquals(0, matrix.getWord(0, 1));
+    assertEquals(1, matrix.getWord(1, 0));
+    assertEquals(1L << 6, matrix.getWord(1, 1));
+  }
+
+  @Test
+  void addAll() {
+    BitMatrix first = matrix("1\n0\n", true, true);
+    BitMatrix second = matrix("1".repeat(65) + "\n", true, true);
+    first.addAll(second);
+    assertEquals(65, first.getWidth());
+    assertEquals(3, first.getHeight());
+    assertArrayEquals(new long[]{1, 0, 0, 0, -1, 1}, first.toWords());
+  }
+
+  private static BitMatrix matrix(String text, boolean trimmed, boolean stripped) {
+    BitMatrix matrix = new BitMatrix();
+    matrix.add(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), trimmed, stripped);
+    return matrix;
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GridTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"abc\ndef\n", "abc\ndef", "abc\r\ndef\r\n", "abc\r\ndef\n\n"})
+  void of(String text) {
+    Grid grid = Grid.of(text.getBytes(StandardCharsets.US_ASCII));
+    assertEquals(3, grid.getWidth());
+    assertEquals(2, grid.getHeight());
+    assertEquals('a', grid.getChar(0, 0));
+    assertEquals('f', grid.getChar(1, 2));
+    assertEquals((byte) 'e', grid.get(1, 1));
+  }
+
+  @Test
+  void of_empty() {
+    Grid grid = Grid.of(new byte[0]);
+    assertEquals(0, grid.getWidth());
+    assertEquals(0, grid.getHeight());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"abc\nde\n", "ab\ncdef\n", "ab\ncdxef", "ab\n\ncd\n"})
+  void of_ragged(String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+    assertThrows(IllegalArgumentException.class, () -> Grid.of(bytes));
+  }
+
+  @Test
+  void get_outOfBounds() {
+    Grid grid = Grid.of("ab\ncd\n".getBytes(StandardCharsets.US_ASCII));
+    assertThrows(IndexOutOfBoundsException.class, () -> grid.get(2, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> grid.get(0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> grid.get(-1, 0));
+  }
+
+  @Test
+  void getRow() {
+    Grid grid = Grid.of("abc\r\ndef\r\n".getBytes(StandardCharsets.US_ASCII));
+    ByteBuffer row = grid.getRow(1);
+    byte[] bytes = new byte[row.remaining()];
+    row.get(bytes);
+    assertEquals("def", new String(bytes, StandardCharsets.US_ASCII));
+    assertTrue(grid.getRow(0).isReadOnly());
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class ParseEventTest {
+
+  private static final String EVENT_NAME = "com.nickbenn.advent.Parse";
+
+  @Test
+  void lineGroupStream() throws URISyntaxException, IOException {
+    List<RecordedEvent> events = record(() -> {
+      try (Stream<String> groups = builder("groups.txt").build().lineGroupStream()) {
+        groups.forEach((group) -> {});
+      }
+    });
+    assertEquals(1, events.size());
+    RecordedEvent event = events.get(0);
+    assertEquals("lineGroupStream", event.getString("method"));
+    assertEquals(9, event.getLong("lines"));
+    assertEquals(3, event.getLong("groups"));
+    assertTrue(event.getLong("bytesRead") > 0);
+  }
+
+  @Test
+  void mappedStream() throws URISyntaxException, IOException {
+    List<RecordedEvent> events = record(() -> builder("numbers.txt")
+        .setTrimmed(true)
+        .setStripped(true)
+        .setMapped(true)
+        .build()
+        .intArray());
+    assertEquals(1, events.size());
+    assertEquals(5, events.get(0).getLong("values"));
+  }
+
+  @Test
+  void unclosedStreams() throws URISyntaxException, IOException {
+    List<RecordedEvent> events = record(() -> {
+      Parser parser = builder("numbers.txt").setTrimmed(true).setStripped(true).build();
+      assertEquals(5, parser.lineStream().count());
+      assertEquals(597, parser.intStream().sum());
+      Parser mapped = builder("numbers.txt")
+          .setTrimmed(true)
+          .setStripped(true)
+          .setMapped(true)
+          .setParallel(true)
+          .build();
+      assertEquals(597, mapped.intStream().sum());
+      assertEquals(3, builder("groups.txt").build().lineGroupStream().count());
+    });
+    assertEquals(List.of("lineStream", "lineStream", "byteStream", "lineGroupStream"),
+        events.stream().map((event) -> event.getString("method")).collect(Collectors.toList()));
+    assertEquals(5, events.get(2).getLong("values"));
+    assertEquals(3, events.get(3).getLong("groups"));
+  }
+
+  @Test
+  void disabled() throws URISyntaxException, IOException {
+    try (Stream<String> lines = builder("numbers.txt").build().lineStream()) {
+      assertFalse(new ParseEvent("", "lineStream").isEnabled());
+      lines.forEach((line) -> {});
+    }
+  }
+
+  private List<RecordedEvent> record(Action action) throws URISyntaxException, IOException {
+    Path path = Files.createTempFile(getClass().getSimpleName(), ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(EVENT_NAME);
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(path);
+      return RecordingFile.readAllEvents(path)
+          .stream()
+          .filter((event) -> event.getEventType().getName().equals(EVENT_NAME))
+          .collect(Collectors.toList());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  private Parser.Builder builder(String filename) throws URISyntaxException {
+    //noinspection ConstantConditions
+    return new Parser.Builder(getClass().getResource(filename).toURI());
+  }
+
+  private interface Action {
+
+    void run() throws URISyntaxException, IOException;
+
+  }
+
+}
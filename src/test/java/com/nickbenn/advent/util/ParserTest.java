@@ -0,0 +1,607 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParserTest {
+
+  private static final String NUMBERS_FILENAME = "numbers.txt";
+  private static final int[] EXPECTED_INTS = {199, 200, 208, -210, 200};
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void intArray(boolean mapped) throws URISyntaxException, IOException {
+    assertArrayEquals(EXPECTED_INTS, builder(NUMBERS_FILENAME)
+        .setTrimmed(true)
+        .setStripped(true)
+        .setMapped(mapped)
+        .build()
+        .intArray());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void longArray(boolean mapped) throws URISyntaxException, IOException {
+    long[] expected = {199, 200, 208, -210, 200};
+    assertArrayEquals(expected, builder(NUMBERS_FILENAME)
+        .setTrimmed(true)
+        .setStripped(true)
+        .setMapped(mapped)
+        .build()
+        .longArray());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void intArray_unstripped(boolean mapped) throws URISyntaxException, IOException {
+    Parser parser = builder(NUMBERS_FILENAME)
+        .setTrimmed(true)
+        .setMapped(mapped)
+        .build();
+    assertThrows(NumberFormatException.class, parser::intArray);
+  }
+
+  @Test
+  void intArray_mappedMatchesLines() throws URISyntaxException, IOException {
+    Parser.Builder builder = builder(Defaults.TEST_FILENAME);
+    assertArrayEquals(builder.build().intArray(), builder.setMapped(true).build().intArray());
+  }
+
+  @Test
+  void intArray_parallelPreservesOrder() throws URISyntaxException, IOException {
+    int[] expected = IntStream.range(0, 200_000).map((value) -> value * 7 - 100_000).toArray();
+    Path path = Files.createTempFile(getClass().getSimpleName(), ".txt");
+    try {
+      Files.write(path, IntStream.of(expected)
+          .mapToObj(String::valueOf)
+          .collect(Collectors.toList()));
+      assertArrayEquals(expected, new Parser.Builder(path.toUri())
+          .setMapped(true)
+          .setParallel(true)
+          .build()
+          .intArray());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void intArray_binary(boolean mapped) throws URISyntaxException, IOException {
+    int[] expected = {0b00100, 0b11110, 0b10110};
+    assertArrayEquals(expected, builder("binary.txt")
+        .setMapped(mapped)
+        .build()
+        .intArray(2));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void intArray_delimited(boolean mapped) throws URISyntaxException, IOException {
+    int[] expected = {3, 4, 3, 1, 2, 5, 6};
+    assertArrayEquals(expected, builder("delimited.txt")
+        .setTrimmed(true)
+        .setStripped(true)
+        .setMapped(mapped)
+        .setDelimiter(',')
+        .build()
+        .intArray());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void intArray_delimitedEmptyFields(boolean mapped, @TempDir Path directory)
+      throws URISyntaxException, IOException {
+    Path path = Files.writeString(directory.resolve("fields.txt"), "1,2\n\n3,\n4\n");
+    Parser.Builder builder = new Parser.Builder(path.toUri())
+        .setMapped(mapped)
+        .setDelimiter(',');
+    assertThrows(NumberFormatException.class, () -> builder.build().intArray());
+    assertArrayEquals(new int[]{1, 2, 3, 4}, builder.setStripped(true).build().intArray());
+    Files.writeString(path, "1,2\n3,\n4\n");
+    assertThrows(NumberFormatException.class,
+        () -> builder.setStripped(false).build().intArray());
+  }
+
+  @Test
+  void copy() throws URISyntaxException, IOException {
+    Parser.Builder builder = new Parser.Builder(
+        new ByteArrayInputStream(" 1 \n\n 2\n".getBytes(StandardCharsets.US_ASCII)));
+    Parser.Builder copy = builder.setTrimmed(true).setBuffered(true).copy().setStripped(true);
+    Parser parser = builder.build();
+    assertArrayEquals(new String[]{"1", "", "2"}, parser.lines());
+    assertArrayEquals(new String[]{"1", "2"}, copy.build().lines());
+  }
+
+  @Test
+  void intArray_text() {
+    assertArrayEquals(new int[]{7, 4, 9, 5, 11}, Parser.intArray(" 7,4, 9 ,5,11", ','));
+  }
+
+  @Test
+  void intArray_cached(@TempDir Path directory) throws URISyntaxException, IOException {
+    Path path = directory.resolve(NUMBERS_FILENAME);
+    //noinspection ConstantConditions
+    Files.copy(Path.of(getClass().getResource(NUMBERS_FILENAME).toURI()), path);
+    Parser.Builder builder = new Parser.Builder(path.toUri())
+        .setTrimmed(true)
+        .setStripped(true)
+        .setCached(true);
+    assertArrayEquals(EXPECTED_INTS, builder.build().intArray());
+    assertTrue(Files.exists(directory.resolve(NUMBERS_FILENAME + ArrayCache.SUFFIX)));
+    FileTime modified = Files.getLastModifiedTime(path);
+    Files.writeString(path, Files.readString(path).replace('1', '9'));
+    Files.setLastModifiedTime(path, modified);
+    assertArrayEquals(new int[]{999, 200, 208, -290, 200}, builder.build().intArray());
+    assertArrayEquals(new long[]{999, 200, 208, -290, 200}, builder.build().longArray());
+  }
+
+  @Test
+  void intArray_cacheUnusable(@TempDir Path directory) throws URISyntaxException, IOException {
+    Path path = directory.resolve(NUMBERS_FILENAME);
+    //noinspection ConstantConditions
+    Files.copy(Path.of(getClass().getResource(NUMBERS_FILENAME).toURI()), path);
+    Path sidecar = Files.createDirectory(directory.resolve(NUMBERS_FILENAME + ArrayCache.SUFFIX));
+    Files.writeString(sidecar.resolve("blocker"), "");
+    Parser.Builder builder = new Parser.Builder(path.toUri())
+        .setTrimmed(true)
+        .setStripped(true)
+        .setCached(true);
+    assertArrayEquals(EXPECTED_INTS, builder.build().intArray());
+    assertArrayEquals(IntStream.of(EXPECTED_INTS).asLongStream().toArray(),
+        builder.build().longArray());
+    assertTrue(Files.isDirectory(sidecar));
+  }
+
+  @Test
+  void intArray_cacheInvalidated(@TempDir Path directory) throws URISyntaxException, IOException {
+    Path path = directory.resolve(NUMBERS_FILENAME);
+    Files.writeString(path, "1\n2\n3\n");
+    Parser.Builder builder = new Parser.Builder(path.toUri()).setCached(true);
+    assertArrayEquals(new int[]{1, 2, 3}, builder.build().intArray());
+    FileTime modified = Files.getLastModifiedTime(path);
+    Files.writeString(path, "4\n5\n6\n7\n");
+    Files.setLastModifiedTime(path, FileTime.fromMillis(modified.toMillis() + 1000));
+    assertArrayEquals(new int[]{4, 5, 6, 7}, builder.build().intArray());
+  }
+
+  @ParameterizedTest
+  @EnumSource(Compression.class)
+  void intArray_compressed(Compression compression, @TempDir Path directory)
+      throws URISyntaxException, IOException {
+    Path path = compress(directory, NUMBERS_FILENAME, compression);
+    for (boolean mapped : new boolean[]{false, true}) {
+      assertArrayEquals(EXPECTED_INTS, new Parser.Builder(path.toUri())
+          .setTrimmed(true)
+          .setStripped(true)
+          .setMapped(mapped)
+          .build()
+          .intArray());
+    }
+  }
+
+  @Test
+  void intArray_compressedChunks(@TempDir Path directory) throws URISyntaxException, IOException {
+    int[] expected = IntStream.range(0, 500_000).map((value) -> value * 13 - 1_000_000).toArray();
+    Path path = directory.resolve("values.txt.gz");
+    try (Writer writer = new OutputStreamWriter(
+        new GZIPOutputStream(Files.newOutputStream(path)), StandardCharsets.UTF_8)) {
+      for (int value : expected) {
+        writer.write(value + ",");
+      }
+    }
+    assertArrayEquals(expected, new Parser.Builder(path.toUri())
+        .setDelimiter(',')
+        .setStripped(true)
+        .build()
+        .intArray());
+  }
+
+  @ParameterizedTest
+  @EnumSource(Compression.class)
+  void lineGroupStream_compressed(Compression compression, @TempDir Path directory)
+      throws URISyntaxException, IOException {
+    Path path = compress(directory, "groups.txt", compression);
+    Parser parser = new Parser.Builder(path.toUri()).setTrimmed(true).build();
+    try (Stream<String> groups = parser.lineGroupStream()) {
+      assertEquals(3, groups.count());
+    }
+    //noinspection ConstantConditions
+    assertEquals(Files.readString(Path.of(getClass().getResource("groups.txt").toURI())),
+        parser.rawString());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = Compression.class, names = {"NONE", "GZIP", "ZIP"})
+  void intArray_compressedStream(Compression compression, @TempDir Path directory)
+      throws URISyntaxException, IOException {
+    Path path = compress(directory, NUMBERS_FILENAME, compression);
+    try (InputStream input = Files.newInputStream(path)) {
+      assertArrayEquals(EXPECTED_INTS, new Parser.Builder(input)
+          .setTrimmed(true)
+          .setStripped(true)
+          .build()
+          .intArray());
+    }
+  }
+
+  @Test
+  void lines_singlePassStream() throws URISyntaxException, IOException {
+    byte[] text = "1\n2\n".getBytes(StandardCharsets.US_ASCII);
+    Parser parser = new Parser.Builder(new ByteArrayInputStream(text)).build();
+    assertArrayEquals(new String[]{"1", "2"}, parser.lines());
+    assertThrows(IllegalStateException.class, parser::lines);
+    Parser buffered = new Parser.Builder(new ByteArrayInputStream(text)).setBuffered(true).build();
+    assertArrayEquals(new String[]{"1", "2"}, buffered.lines());
+    assertArrayEquals(new int[]{1, 2}, buffered.intArray());
+  }
+
+  @Test
+  void lines_zlibLikeText() throws URISyntaxException, IOException {
+    byte[] text = "x^2\nhello\n".getBytes(StandardCharsets.US_ASCII);
+    assertArrayEquals(new String[]{"x^2", "hello"},
+        new Parser.Builder(new ByteArrayInputStream(text)).build().lines());
+  }
+
+  @Test
+  void intArray_zlibStream() throws URISyntaxException, IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream zlib = new DeflaterOutputStream(bytes)) {
+      zlib.write("1\n2\n3\n".getBytes(StandardCharsets.US_ASCII));
+    }
+    assertArrayEquals(new int[]{1, 2, 3},
+        new Parser.Builder(new ByteArrayInputStream(bytes.toByteArray()))
+            .setZlib(true)
+            .build()
+            .intArray());
+  }
+
+  @Test
+  void lines_zipMultipleFiles(@TempDir Path directory) throws URISyntaxException, IOException {
+    Path path = directory.resolve("multiple.zip");
+    try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path))) {
+      for (String name : new String[]{"first.txt", "second.txt"}) {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write("1\n".getBytes(StandardCharsets.US_ASCII));
+      }
+    }
+    Parser parser = new Parser.Builder(path.toUri()).build();
+    assertThrows(UncheckedIOException.class, parser::lines);
+  }
+
+  @Test
+  void intArray_inputStream() throws URISyntaxException, IOException {
+    try (InputStream input = getClass().getResourceAsStream(NUMBERS_FILENAME)) {
+      Parser parser = new Parser.Builder(input)
+          .setTrimmed(true)
+          .setStripped(true)
+          .setBuffered(true)
+          .build();
+      assertEquals(EXPECTED_INTS.length, parser.lines().length);
+      assertArrayEquals(EXPECTED_INTS, parser.intArray());
+    }
+  }
+
+  @Test
+  void intArray_channel() throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    Path path = Path.of(getClass().getResource(NUMBERS_FILENAME).toURI());
+    try (ReadableByteChannel channel = Files.newByteChannel(path)) {
+      assertArrayEquals(EXPECTED_INTS, new Parser.Builder(channel)
+          .setTrimmed(true)
+          .setStripped(true)
+          .setMapped(true)
+          .build()
+          .intArray());
+    }
+  }
+
+  @Test
+  void intArray_stdin() throws URISyntaxException, IOException {
+    InputStream stdin = System.in;
+    try {
+      System.setIn(new ByteArrayInputStream("3,4\n-5\n".getBytes(StandardCharsets.UTF_8)));
+      assertArrayEquals(new int[]{3, 4, -5},
+          Parser.Builder.stdin().setDelimiter(',').build().intArray());
+    } finally {
+      System.setIn(stdin);
+    }
+  }
+
+  @Test
+  void intArray_jarResource(@TempDir Path directory) throws URISyntaxException, IOException {
+    Path jar = directory.resolve("inputs.jar");
+    try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+      zip.putNextEntry(new ZipEntry(NUMBERS_FILENAME));
+      //noinspection ConstantConditions
+      Files.copy(Path.of(getClass().getResource(NUMBERS_FILENAME).toURI()), zip);
+    }
+    URI uri = URI.create("jar:" + jar.toUri() + "!/" + NUMBERS_FILENAME);
+    assertArrayEquals(EXPECTED_INTS, new Parser.Builder(uri)
+        .setTrimmed(true)
+        .setStripped(true)
+        .setMapped(true)
+        .build()
+        .intArray());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void pipeInts(boolean mapped, @TempDir Path directory) throws URISyntaxException, IOException {
+    int[] expected = IntStream.range(0, 100_000).map((value) -> value * 3 - 50_000).toArray();
+    Path path = directory.resolve("values.txt");
+    Files.write(path, IntStream.of(expected)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.toList()));
+    int[] actual = new int[expected.length];
+    int[] count = {0};
+    new Parser.Builder(path.toUri())
+        .setMapped(mapped)
+        .build()
+        .pipeInts((values, length) -> {
+          System.arraycopy(values, 0, actual, count[0], length);
+          count[0] += length;
+        });
+    assertEquals(expected.length, count[0]);
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  void pipeInts_failure() throws URISyntaxException {
+    Parser.Builder builder = builder(NUMBERS_FILENAME).setTrimmed(true).setMapped(true);
+    assertThrows(NumberFormatException.class,
+        () -> builder.build().pipeInts((values, length) -> {}));
+    builder.setStripped(true);
+    assertThrows(IllegalStateException.class, () -> builder.build().pipeInts((values, length) -> {
+      throw new IllegalStateException();
+    }));
+  }
+
+  @Test
+  void pipeInts_openPipe() throws InterruptedException, IOException {
+    PipedOutputStream output = new PipedOutputStream();
+    PipedInputStream input = new PipedInputStream(output);
+    List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch delivered = new CountDownLatch(1);
+    Thread reader = new Thread(() -> {
+      try {
+        new Parser.Builder(input).build().pipeInts((values, length) -> {
+          for (int i = 0; i < length; i++) {
+            received.add(values[i]);
+          }
+          delivered.countDown();
+        });
+      } catch (URISyntaxException | IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    try {
+      output.write("3\n4\n-5\n".getBytes(StandardCharsets.US_ASCII));
+      output.flush();
+      reader.start();
+      assertTrue(delivered.await(10, TimeUnit.SECONDS));
+      assertEquals(List.of(3, 4, -5), received);
+    } finally {
+      output.close();
+      reader.join();
+    }
+  }
+
+  @Test
+  void pipeInts_consumerFailureWithBlockedRead() throws URISyntaxException, IOException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    InputStream input = new InputStream() {
+
+      private final byte[] first = "1\n".getBytes(StandardCharsets.US_ASCII);
+      private int position;
+
+      @Override
+      public int read() {
+        byte[] buffer = new byte[1];
+        return (read(buffer, 0, 1) < 0) ? -1 : buffer[0];
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int length) {
+        int count;
+        if (position < first.length) {
+          count = Math.min(length, first.length - position);
+          System.arraycopy(first, position, buffer, offset, count);
+          position += count;
+        } else {
+          // Like stdin, ignore interrupts until the test lets go.
+          blocked.countDown();
+          boolean released = false;
+          while (!released) {
+            try {
+              release.await();
+              released = true;
+            } catch (InterruptedException e) {
+              // Keep blocking.
+            }
+          }
+          count = -1;
+        }
+        return count;
+      }
+
+    };
+    Parser parser = new Parser.Builder(input).build();
+    try {
+      IntBatchConsumer failing = (values, length) -> {
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new IllegalStateException();
+      };
+      IllegalStateException failure = assertTimeoutPreemptively(Duration.ofSeconds(10),
+          () -> assertThrows(IllegalStateException.class, () -> parser.pipeInts(failing)));
+      assertEquals(1, failure.getSuppressed().length);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void pipeRecords(boolean mapped, @TempDir Path directory)
+      throws URISyntaxException, IOException {
+    Path path = directory.resolve("records.txt");
+    Files.writeString(path, "1,2,3\n 4, 5 ,6\nbad\n7,8,9\n");
+    RecordExtractor extractor = new RecordExtractor.Builder()
+        .unsignedInt()
+        .literal(",")
+        .unsignedInt()
+        .literal(",")
+        .unsignedInt()
+        .build();
+    List<Integer> values = new ArrayList<>();
+    new Parser.Builder(path.toUri()).setMapped(mapped).build().pipeRecords(extractor, (records) -> {
+      for (int row = 0; row < records.size(); row++) {
+        for (int column = 0; column < 3; column++) {
+          values.add(records.get(column, row));
+        }
+      }
+    });
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), values);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void bitmap(boolean sparse) throws URISyntaxException, IOException {
+    IntBitmap bitmap = builder(Defaults.TEST_FILENAME).setSparse(sparse).build().bitmap();
+    assertArrayEquals(builder(Defaults.TEST_FILENAME).build().bitSet().stream().toArray(),
+        bitmap.stream().toArray());
+    assertTrue(bitmap.contains(263));
+    assertFalse(bitmap.contains(264));
+  }
+
+  @Test
+  void lineGroupStream() throws URISyntaxException, IOException {
+    String[] expected = {"7,4,9", "22 13\n 8  2", "3 15\n0 9"};
+    try (Stream<String> groups = builder("groups.txt").setTrimmed(true).build().lineGroupStream()) {
+      assertArrayEquals(expected, groups.toArray(String[]::new));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void grid(boolean mapped, @TempDir Path directory) throws URISyntaxException, IOException {
+    Path path = Files.writeString(directory.resolve("grid.txt"), "0123\n4567\n89ab\n");
+    Grid grid = new Parser.Builder(path.toUri()).setMapped(mapped).build().grid();
+    assertEquals(4, grid.getWidth());
+    assertEquals(3, grid.getHeight());
+    assertEquals('6', grid.getChar(1, 2));
+    assertEquals('b', grid.getChar(2, 3));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void bitMatrix(boolean mapped, @TempDir Path directory) throws URISyntaxException, IOException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 200_000; i++) {
+      text.append(Integer.toBinaryString(i)).append((i % 1000 == 0) ? "\n\n" : "\n");
+    }
+    Path path = Files.writeString(directory.resolve("bits.txt"), text);
+    BitMatrix matrix = new Parser.Builder(path.toUri())
+        .setStripped(true)
+        .setMapped(mapped)
+        .setParallel(true)
+        .build()
+        .bitMatrix();
+    assertEquals(200_000, matrix.getHeight());
+    assertEquals(Integer.toBinaryString(199_999).length(), matrix.getWidth());
+    for (int i = 0; i < 200_000; i += 997) {
+      assertEquals(i, matrix.getWord(i, 0));
+    }
+  }
+
+  private Path compress(Path directory, String filename, Compression compression)
+      throws URISyntaxException, IOException {
+    //noinspection ConstantConditions
+    byte[] data = Files.readAllBytes(Path.of(getClass().getResource(filename).toURI()));
+    Path path = directory.resolve(filename + "." + compression.name().toLowerCase());
+    try (OutputStream output = Files.newOutputStream(path)) {
+      switch (compression) {
+        case GZIP:
+          try (OutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+          }
+          break;
+        case ZIP:
+          try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            zip.putNextEntry(new ZipEntry(filename));
+            zip.write(data);
+          }
+          break;
+        case ZLIB:
+          try (OutputStream zlib = new DeflaterOutputStream(output)) {
+            zlib.write(data);
+          }
+          break;
+        default:
+          output.write(data);
+      }
+    }
+    return path;
+  }
+
+  private Parser.Builder builder(String filename) throws URISyntaxException {
+    //noinspection ConstantConditions
+    return new Parser.Builder(getClass().getResource(filename).toURI());
+  }
+
+}
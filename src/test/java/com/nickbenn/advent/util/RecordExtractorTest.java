@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.advent.util.RecordExtractor.Records;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class RecordExtractorTest {
+
+  @Test
+  void extract_keywords() {
+    RecordExtractor extractor = new RecordExtractor.Builder()
+        .keyword("forward", "down", "up")
+        .unsignedInt()
+        .build();
+    Records records = extractor.extract(wrap("forward 5\r\n down 12 \nforwards 3\nup 3\n\nup\n"));
+    assertEquals(3, records.size());
+    assertArrayEquals(new int[]{0, 1, 2}, records.getColumn(0));
+    assertArrayEquals(new int[]{5, 12, 3}, records.getColumn(1));
+  }
+
+  @Test
+  void extract_literals() {
+    RecordExtractor extractor = new RecordExtractor.Builder()
+        .unsignedInt()
+        .literal(",")
+        .unsignedInt()
+        .literal("->")
+        .unsignedInt()
+        .literal(",")
+        .unsignedInt()
+        .build();
+    Records records = extractor.extract(wrap("0,9 -> 5,9\n8, 0->0 ,8\n9,4 => 3,4"));
+    assertEquals(2, records.size());
+    assertArrayEquals(new int[]{0, 8}, records.getColumn(0));
+    assertArrayEquals(new int[]{9, 0}, records.getColumn(1));
+    assertArrayEquals(new int[]{5, 0}, records.getColumn(2));
+    assertArrayEquals(new int[]{9, 8}, records.getColumn(3));
+  }
+
+  @Test
+  void extract_overflow() {
+    RecordExtractor extractor = new RecordExtractor.Builder()
+        .unsignedInt()
+        .build();
+    assertThrows(NumberFormatException.class, () -> extractor.extract(wrap("2147483648\n")));
+  }
+
+  private static ByteBuffer wrap(String text) {
+    return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SparseBitmapTest {
+
+  private static final long SEED = 2021;
+
+  @ParameterizedTest
+  @ValueSource(ints = {10, 10_000, 200_000})
+  void add_matchesSet(int count) {
+    Random rng = new Random(SEED + count);
+    Set<Integer> expected = new TreeSet<>();
+    SparseBitmap bitmap = new SparseBitmap();
+    for (int i = 0; i < count; i++) {
+      int value = (i % 3 == 0) ? rng.nextInt() : rng.nextInt(1 << 18) - (1 << 17);
+      expected.add(value);
+      bitmap.add(value);
+    }
+    bitmap.runOptimize();
+    assertEquals(expected.size(), bitmap.cardinality());
+    assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+        bitmap.stream().toArray());
+    for (int i = 0; i < 1_000; i++) {
+      int probe = rng.nextInt(1 << 18) - (1 << 17);
+      assertEquals(expected.contains(probe), bitmap.contains(probe));
+    }
+  }
+
+  @Test
+  void unionIntersection() {
+    SparseBitmap evens = new SparseBitmap();
+    SparseBitmap range = new SparseBitmap();
+    IntStream.range(-100_000, 100_000).filter((value) -> value % 2 == 0).forEach(evens::add);
+    IntStream.range(50_000, 150_000).forEach(range::add);
+    range.runOptimize();
+    assertArrayEquals(
+        IntStream.concat(
+            IntStream.range(-100_000, 50_000).filter((value) -> value % 2 == 0),
+            IntStream.range(50_000, 150_000)).toArray(),
+        evens.union(range).stream().toArray());
+    assertArrayEquals(
+        IntStream.range(50_000, 100_000).filter((value) -> value % 2 == 0).toArray(),
+        evens.intersection(range).stream().toArray());
+    assertEquals(0, SparseBitmap.of(1, 2, 3).intersection(SparseBitmap.of(4, 5)).cardinality());
+  }
+
+  @Test
+  void union_dense() {
+    IntBitmap dense = new DenseBitmap(new BitSet());
+    IntBitmap union = SparseBitmap.of(7, 1 << 30).union(SparseBitmap.of(3).union(dense));
+    assertArrayEquals(new int[]{3, 7, 1 << 30}, union.stream().toArray());
+  }
+
+  @Test
+  void getSizeInBytes_proportionalToData() {
+    SparseBitmap bitmap = SparseBitmap.of(1, Integer.MAX_VALUE);
+    assertTrue(bitmap.getSizeInBytes() < 64);
+    SparseBitmap runs = new SparseBitmap();
+    IntStream.range(0, 1 << 20).forEach(runs::add);
+    assertTrue(runs.runOptimize().getSizeInBytes() < 1_024);
+    assertEquals(1 << 20, runs.cardinality());
+    assertTrue(runs.contains((1 << 20) - 1));
+    assertFalse(runs.contains(1 << 20));
+  }
+
+}
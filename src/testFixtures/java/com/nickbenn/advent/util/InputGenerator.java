@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class InputGenerator {
+
+  private static final String[] DIVE_COMMANDS = {"forward", "down", "up"};
+  private static final int BINGO_NUMBERS = 100;
+  private static final int BINGO_BOARD_SIZE = 5;
+  private static final int DEFAULT_VENT_RANGE = 1000;
+  private static final int MAX_LANTERNFISH_TIMER = 5;
+  private static final int DEFAULT_CRAB_RANGE = 2000;
+
+  public static final long DEFAULT_SEED = 2021;
+
+  private final long seed;
+
+  public InputGenerator() {
+    this(DEFAULT_SEED);
+  }
+
+  public InputGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  public Path sonarSweep(int size) throws IOException {
+    return write("sonar-sweep", (writer, rng) -> {
+      int depth = 100 + rng.nextInt(100);
+      for (int i = 0; i < size; i++) {
+        depth = Math.max(0, depth + rng.nextInt(21) - 8);
+        writer.write(Integer.toString(depth));
+        writer.write('\n');
+      }
+    });
+  }
+
+  public Path dive(int size) throws IOException {
+    return write("dive", (writer, rng) -> {
+      for (int i = 0; i < size; i++) {
+        writer.write(DIVE_COMMANDS[rng.nextInt(DIVE_COMMANDS.length)]);
+        writer.write(' ');
+        writer.write(Integer.toString(1 + rng.nextInt(9)));
+        writer.write('\n');
+      }
+    });
+  }
+
+  public Path binaryDiagnostic(int size, int bitCount) throws IOException {
+    return write("binary-diagnostic", (writer, rng) -> {
+      char[] digits = new char[bitCount];
+      for (int i = 0; i < size; i++) {
+        for (int j = 0; j < bitCount; j++) {
+          digits[j] = rng.nextBoolean() ? '1' : '0';
+        }
+        writer.write(digits);
+        writer.write('\n');
+      }
+    });
+  }
+
+  public Path giantSquid(int boardCount) throws IOException {
+    return write("giant-squid", (writer, rng) -> {
+      int[] numbers = shuffledRange(BINGO_NUMBERS, rng);
+      for (int i = 0; i < numbers.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(Integer.toString(numbers[i]));
+      }
+      writer.write('\n');
+      for (int board = 0; board < boardCount; board++) {
+        int[] cells = shuffledRange(BINGO_NUMBERS, rng);
+        writer.write('\n');
+        for (int row = 0; row < BINGO_BOARD_SIZE; row++) {
+          for (int column = 0; column < BINGO_BOARD_SIZE; column++) {
+            writer.write(String.format("%3d", cells[row * BINGO_BOARD_SIZE + column]));
+          }
+          writer.write('\n');
+        }
+      }
+    });
+  }
+
+  public Path hydrothermalVenture(int size) throws IOException {
+    return hydrothermalVenture(size, DEFAULT_VENT_RANGE);
+  }
+
+  public Path hydrothermalVenture(int size, int range) throws IOException {
+    return write("hydrothermal-venture", (writer, rng) -> {
+      for (int i = 0; i < size; i++) {
+        int x1 = rng.nextInt(range);
+        int y1 = rng.nextInt(range);
+        int length = rng.nextInt(Math.max(1, range / 2));
+        int x2;
+        int y2;
+        switch (rng.nextInt(3)) {
+          case 0:
+            x2 = x1;
+            y2 = clamp(y1 + (rng.nextBoolean() ? length : -length), range);
+            break;
+          case 1:
+            x2 = clamp(x1 + (rng.nextBoolean() ? length : -length), range);
+            y2 = y1;
+            break;
+          default:
+            length = Math.min(length, Math.min(range - 1 - x1, range - 1 - y1));
+            x2 = x1 + length;
+            y2 = y1 + length;
+            break;
+        }
+        writer.write(String.format("%d,%d -> %d,%d\n", x1, y1, x2, y2));
+      }
+    });
+  }
+
+  public Path lanternfish(int size) throws IOException {
+    return writeDelimited("lanternfish", size, MAX_LANTERNFISH_TIMER, 1);
+  }
+
+  public Path whaleTreachery(int size) throws IOException {
+    return whaleTreachery(size, DEFAULT_CRAB_RANGE);
+  }
+
+  public Path whaleTreachery(int size, int range) throws IOException {
+    return writeDelimited("whale-treachery", size, range, 0);
+  }
+
+  private Path writeDelimited(String prefix, int size, int max, int min) throws IOException {
+    return write(prefix, (writer, rng) -> {
+      for (int i = 0; i < size; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(Integer.toString(min + rng.nextInt(max - min + 1)));
+      }
+      writer.write('\n');
+    });
+  }
+
+  private Path write(String prefix, Content content) throws IOException {
+    Path path = Files.createTempFile(prefix, ".txt");
+    path.toFile().deleteOnExit();
+    try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+      content.write(writer, new Random(seed));
+    }
+    return path;
+  }
+
+  private static int[] shuffledRange(int size, Random rng) {
+    int[] values = new int[size];
+    for (int i = 0; i < size; i++) {
+      int j = rng.nextInt(i + 1);
+      values[i] = values[j];
+      values[j] = i;
+    }
+    return values;
+  }
+
+  private static int clamp(int value, int range) {
+    return Math.max(0, Math.min(range - 1, value));
+  }
+
+  private interface Content {
+
+    void write(Writer writer, Random rng) throws IOException;
+
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2021 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day1;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+class VectorIncreaseKernel implements IncreaseKernel {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+  private static final IntVector ONES = IntVector.broadcast(SPECIES, 1);
+
+  @Override
+  public int count(int[] data, int window, int from, int to) {
+    int start = Math.max(from, window);
+    int increases = 0;
+    if (start < to) {
+      int bound = start + SPECIES.loopBound(to - start);
+      IntVector counts = IntVector.zero(SPECIES);
+      int i = start;
+      for (; i < bound; i += SPECIES.length()) {
+        IntVector current = IntVector.fromArray(SPECIES, data, i);
+        IntVector previous = IntVector.fromArray(SPECIES, data, i - window);
+        VectorMask<Integer> increased = current.compare(VectorOperators.GT, previous);
+        counts = counts.add(ONES, increased);
+      }
+      increases = counts.reduceLanes(VectorOperators.ADD);
+      for (; i < to; i++) {
+        if (data[i] > data[i - window]) {
+          increases++;
+        }
+      }
+    }
+    return increases;
+  }
+
+}